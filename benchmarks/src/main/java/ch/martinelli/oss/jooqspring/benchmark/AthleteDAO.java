@@ -0,0 +1,15 @@
+package ch.martinelli.oss.jooqspring.benchmark;
+
+import ch.martinelli.oss.jooqspring.JooqDAO;
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.Athlete;
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.records.AthleteRecord;
+import org.jooq.DSLContext;
+
+import static ch.martinelli.oss.jooqspring.benchmark.db.Tables.ATHLETE;
+
+public class AthleteDAO extends JooqDAO<Athlete, AthleteRecord, Long> {
+
+    public AthleteDAO(DSLContext dslContext) {
+        super(dslContext, ATHLETE);
+    }
+}
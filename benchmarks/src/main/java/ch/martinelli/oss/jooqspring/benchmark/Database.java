@@ -0,0 +1,70 @@
+package ch.martinelli.oss.jooqspring.benchmark;
+
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * An in-memory H2 database with the schema of {@code schema.sql}, seeded with {@link #ATHLETES} athletes and
+ * {@link #PARTICIPATIONS_PER_ATHLETE} participations per athlete. A new database is created for each trial.
+ * <p>
+ * All queries use a single connection, so the benchmarks measure the DAO and the database and not the acquisition of
+ * connections.
+ */
+@State(Scope.Benchmark)
+public class Database {
+
+    /**
+     * The number of seeded athletes with the IDs 1 to ATHLETES.
+     */
+    public static final int ATHLETES = 100_000;
+    /**
+     * The number of seeded participations per athlete with the competition IDs 1 to PARTICIPATIONS_PER_ATHLETE.
+     */
+    public static final int PARTICIPATIONS_PER_ATHLETE = 4;
+
+    private Connection connection;
+    private DSLContext dslContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:benchmark-" + System.nanoTime() + ";INIT=RUNSCRIPT FROM 'classpath:schema.sql'");
+        dslContext = DSL.using(connection, SQLDialect.H2);
+
+        dslContext.execute("""
+                insert into athlete (id, first_name, last_name, club, points)
+                select x, 'First ' || x, 'Last ' || x, 'Club ' || mod(x, 100), mod(x, 1000)
+                from system_range(1, ?)""", ATHLETES);
+        dslContext.execute("alter table athlete alter column id restart with " + (ATHLETES + 1));
+        dslContext.execute("""
+                insert into participation (athlete_id, competition_id, points)
+                select a.x, c.x, mod(a.x * c.x, 1000)
+                from system_range(1, ?) a, system_range(1, ?) c""", ATHLETES, PARTICIPATIONS_PER_ATHLETE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * Removes the athletes inserted by a benchmark, so that every invocation starts with the seeded data.
+     */
+    public void deleteInsertedAthletes() {
+        dslContext.execute("delete from athlete where id > ?", ATHLETES);
+    }
+
+    public DSLContext dslContext() {
+        return dslContext;
+    }
+}
@@ -0,0 +1,60 @@
+package ch.martinelli.oss.jooqspring.benchmark;
+
+import ch.martinelli.oss.jooqspring.KeysetPage;
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.records.AthleteRecord;
+import org.jooq.OrderField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ch.martinelli.oss.jooqspring.benchmark.db.Tables.ATHLETE;
+
+/**
+ * Compares offset-based {@code findAll} with keyset-based {@code findAllAfter} for pages at increasing depth. Both
+ * fetch the same page, ordered by the primary key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindAllBenchmark {
+
+    private static final int LIMIT = 50;
+    private static final List<OrderField<?>> ORDER_BY = List.of(ATHLETE.ID);
+
+    @Param({"0", "1000", "50000", "99900"})
+    private int offset;
+
+    private AthleteDAO athleteDAO;
+    private Object[] after;
+
+    @Setup
+    public void setUp(Database database) {
+        athleteDAO = new AthleteDAO(database.dslContext());
+        // The seeded IDs start at 1, so the last record before the page has the ID offset
+        after = offset == 0 ? null : new Object[]{(long) offset};
+    }
+
+    @Benchmark
+    public List<AthleteRecord> offset() {
+        return athleteDAO.findAll(offset, LIMIT, ORDER_BY);
+    }
+
+    @Benchmark
+    public KeysetPage<AthleteRecord> keyset() {
+        return athleteDAO.findAllAfter(after, LIMIT, ORDER_BY);
+    }
+}
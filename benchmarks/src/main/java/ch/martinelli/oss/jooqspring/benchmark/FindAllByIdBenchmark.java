@@ -0,0 +1,62 @@
+package ch.martinelli.oss.jooqspring.benchmark;
+
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.records.AthleteRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls {@code findAllById} with 1 to {@link #MAX_IDS} IDs, with and without IN list padding. Without padding, every
+ * size renders a different SQL string, which misses the query cache of the H2 session (8 statements by default). With
+ * padding, there are only 8 distinct SQL strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindAllByIdBenchmark {
+
+    private static final int MAX_IDS = 100;
+
+    @Param({"false", "true"})
+    private boolean inListPadding;
+
+    private AthleteDAO athleteDAO;
+    private List<List<Long>> idLists;
+    private int next;
+
+    @Setup
+    public void setUp(Database database) {
+        athleteDAO = new AthleteDAO(database.dslContext());
+        athleteDAO.setInListPadding(inListPadding);
+        idLists = new ArrayList<>(MAX_IDS);
+        for (int size = 1; size <= MAX_IDS; size++) {
+            List<Long> ids = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ids.add((long) (size * 997 + i * 31) % Database.ATHLETES + 1);
+            }
+            idLists.add(ids);
+        }
+    }
+
+    @Benchmark
+    public List<AthleteRecord> findAllById() {
+        // Cycle through the sizes with a stride, so that consecutive calls use different sizes
+        next = (next + 37) % MAX_IDS;
+        return athleteDAO.findAllById(idLists.get(next));
+    }
+}
@@ -0,0 +1,82 @@
+package ch.martinelli.oss.jooqspring.benchmark;
+
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.daos.AthleteDao;
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.daos.ParticipationDao;
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.records.AthleteRecord;
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.records.ParticipationRecord;
+import org.jooq.DSLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static ch.martinelli.oss.jooqspring.benchmark.db.Tables.PARTICIPATION;
+
+/**
+ * Compares {@code findById} with a single column and a composite primary key. The IDs cycle through the seeded
+ * records, so every invocation hits an existing record. The DAOs generated by the JooqSpringGenerator are compared
+ * with the hand-written DAOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindByIdBenchmark {
+
+    private AthleteDAO athleteDAO;
+    private ParticipationDAO participationDAO;
+    private DSLContext dslContext;
+    private AthleteDao generatedAthleteDao;
+    private ParticipationDao generatedParticipationDao;
+    private int next;
+
+    @Setup
+    public void setUp(Database database) {
+        athleteDAO = new AthleteDAO(database.dslContext());
+        participationDAO = new ParticipationDAO(database.dslContext());
+        dslContext = database.dslContext();
+        generatedAthleteDao = new AthleteDao(database.dslContext());
+        generatedParticipationDao = new ParticipationDao(database.dslContext());
+    }
+
+    @Benchmark
+    public Optional<AthleteRecord> singleKey() {
+        return athleteDAO.findById((long) nextAthleteId());
+    }
+
+    @Benchmark
+    public Optional<ParticipationRecord> compositeKey() {
+        int athleteId = nextAthleteId();
+        return participationDAO.findById(
+                new ParticipationId(athleteId, athleteId % Database.PARTICIPATIONS_PER_ATHLETE + 1));
+    }
+
+    @Benchmark
+    public Optional<AthleteRecord> generatedSingleKey() {
+        return generatedAthleteDao.findById((long) nextAthleteId());
+    }
+
+    @Benchmark
+    public Optional<ParticipationRecord> generatedCompositeKey() {
+        int athleteId = nextAthleteId();
+        return generatedParticipationDao.findById(
+                dslContext.newRecord(PARTICIPATION.ATHLETE_ID, PARTICIPATION.COMPETITION_ID)
+                        .values((long) athleteId, athleteId % Database.PARTICIPATIONS_PER_ATHLETE + 1));
+    }
+
+    private int nextAthleteId() {
+        next = next % Database.ATHLETES + 1;
+        return next;
+    }
+}
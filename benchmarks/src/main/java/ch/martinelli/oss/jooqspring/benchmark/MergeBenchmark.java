@@ -0,0 +1,79 @@
+package ch.martinelli.oss.jooqspring.benchmark;
+
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.records.AthleteRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ch.martinelli.oss.jooqspring.benchmark.db.Tables.ATHLETE;
+
+/**
+ * Compares merging records one by one with {@code merge} with the multi-row upsert of {@code mergeAll}. Half of the
+ * records exist and are updated, the other half are inserted and deleted again before the next invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MergeBenchmark {
+
+    @Param({"100", "1000"})
+    private int records;
+
+    private Database database;
+    private AthleteDAO athleteDAO;
+    private List<AthleteRecord> athletes;
+    private int round;
+
+    @Setup
+    public void setUp(Database database) {
+        this.database = database;
+        athleteDAO = new AthleteDAO(database.dslContext());
+    }
+
+    @Setup(Level.Invocation)
+    public void createRecords() {
+        database.deleteInsertedAthletes();
+        round++;
+        athletes = new ArrayList<>(records);
+        long firstId = Database.ATHLETES - records / 2 + 1;
+        for (int i = 0; i < records; i++) {
+            AthleteRecord athlete = database.dslContext().newRecord(ATHLETE);
+            athlete.setId(firstId + i);
+            athlete.setFirstName("First " + i);
+            athlete.setLastName("Last " + i);
+            athlete.setClub("Club " + i % 100);
+            athlete.setPoints((i + round) % 1000);
+            athletes.add(athlete);
+        }
+    }
+
+    @Benchmark
+    public int merge() {
+        int affectedRows = 0;
+        for (AthleteRecord athlete : athletes) {
+            affectedRows += athleteDAO.merge(athlete);
+        }
+        return affectedRows;
+    }
+
+    @Benchmark
+    public int mergeAll() {
+        return athleteDAO.mergeAll(athletes);
+    }
+}
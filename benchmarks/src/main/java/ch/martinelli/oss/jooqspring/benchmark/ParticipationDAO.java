@@ -0,0 +1,15 @@
+package ch.martinelli.oss.jooqspring.benchmark;
+
+import ch.martinelli.oss.jooqspring.JooqDAO;
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.Participation;
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.records.ParticipationRecord;
+import org.jooq.DSLContext;
+
+import static ch.martinelli.oss.jooqspring.benchmark.db.Tables.PARTICIPATION;
+
+public class ParticipationDAO extends JooqDAO<Participation, ParticipationRecord, ParticipationId> {
+
+    public ParticipationDAO(DSLContext dslContext) {
+        super(dslContext, PARTICIPATION);
+    }
+}
@@ -0,0 +1,10 @@
+package ch.martinelli.oss.jooqspring.benchmark;
+
+/**
+ * The composite primary key of a participation.
+ *
+ * @param athleteId     the ID of the athlete
+ * @param competitionId the ID of the competition
+ */
+public record ParticipationId(long athleteId, int competitionId) {
+}
@@ -0,0 +1,73 @@
+package ch.martinelli.oss.jooqspring.benchmark;
+
+import ch.martinelli.oss.jooqspring.BatchResult;
+import ch.martinelli.oss.jooqspring.benchmark.db.tables.records.AthleteRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts new records with {@code saveAll} using different batch sizes and with the multi-row {@code insertAll}. The
+ * inserted records are deleted before every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveAllBenchmark {
+
+    private static final int RECORDS = 1000;
+
+    @Param({"1", "100", "1000"})
+    private int batchSize;
+
+    private Database database;
+    private AthleteDAO athleteDAO;
+    private List<AthleteRecord> records;
+
+    @Setup
+    public void setUp(Database database) {
+        this.database = database;
+        athleteDAO = new AthleteDAO(database.dslContext());
+        athleteDAO.setBatchSize(batchSize);
+    }
+
+    @Setup(Level.Invocation)
+    public void createRecords() {
+        database.deleteInsertedAthletes();
+        records = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            AthleteRecord athlete = new AthleteRecord();
+            athlete.setFirstName("First " + i);
+            athlete.setLastName("Last " + i);
+            athlete.setClub("Club " + i % 100);
+            athlete.setPoints(i % 1000);
+            records.add(athlete);
+        }
+    }
+
+    @Benchmark
+    public BatchResult saveAll() {
+        return athleteDAO.saveAll(records, batchSize);
+    }
+
+    @Benchmark
+    public BatchResult insertAll() {
+        return athleteDAO.insertAll(records);
+    }
+}
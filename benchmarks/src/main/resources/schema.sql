@@ -0,0 +1,16 @@
+create table athlete
+(
+    id         bigint generated by default as identity primary key,
+    first_name varchar(100) not null,
+    last_name  varchar(100) not null,
+    club       varchar(100),
+    points     integer      not null
+);
+
+create table participation
+(
+    athlete_id     bigint  not null,
+    competition_id integer not null,
+    points         integer not null,
+    primary key (athlete_id, competition_id)
+);
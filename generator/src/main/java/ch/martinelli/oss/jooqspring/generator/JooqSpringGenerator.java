@@ -0,0 +1,99 @@
+package ch.martinelli.oss.jooqspring.generator;
+
+import org.jooq.codegen.GeneratorStrategy.Mode;
+import org.jooq.codegen.JavaGenerator;
+import org.jooq.codegen.JavaWriter;
+import org.jooq.meta.ColumnDefinition;
+import org.jooq.meta.TableDefinition;
+import org.jooq.meta.UniqueKeyDefinition;
+import org.jooq.tools.JooqLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * jOOQ code generator that generates the DAOs as subclasses of {@code ch.martinelli.oss.jooqspring.JooqDAO} instead
+ * of {@link org.jooq.impl.DAOImpl}.
+ * <p>
+ * The generated DAOs override {@code idCondition} and {@code idsCondition} with typed conditions on the primary key
+ * columns, so the primary key is not resolved at runtime and no reflection is used. Composite primary keys use the
+ * {@code org.jooq.RecordN} types as ID, like the DAOs of jOOQ. DAOs are only generated for tables with a primary key.
+ * <p>
+ * Enable it with {@code <name>ch.martinelli.oss.jooqspring.generator.JooqSpringGenerator</name>} and
+ * {@code <daos>true</daos>} in the generator configuration. With {@code <springAnnotations>true</springAnnotations>},
+ * the DAOs are annotated with {@code @Repository}.
+ */
+public class JooqSpringGenerator extends JavaGenerator {
+
+    private static final JooqLogger log = JooqLogger.getLogger(JooqSpringGenerator.class);
+    private static final String JOOQ_DAO = "ch.martinelli.oss.jooqspring.JooqDAO";
+
+    @Override
+    protected void generateDao(TableDefinition table, JavaWriter out) {
+        UniqueKeyDefinition key = table.getPrimaryKey();
+        if (key == null) {
+            log.info("Skipping DAO generation", out.file().getName());
+            return;
+        }
+
+        String className = getStrategy().getJavaClassName(table, Mode.DAO);
+        String tableType = out.ref(getStrategy().getFullJavaClassName(table));
+        String recordType = out.ref(getStrategy().getFullJavaClassName(table, Mode.RECORD));
+        String tableIdentifier = tableType + "." + getStrategy().getJavaIdentifier(table);
+
+        List<ColumnDefinition> keyColumns = key.getKeyColumns();
+        List<String> keyTypes = new ArrayList<>(keyColumns.size());
+        List<String> keyFields = new ArrayList<>(keyColumns.size());
+        for (ColumnDefinition column : keyColumns) {
+            keyTypes.add(out.ref(getJavaType(column.getType(), out)));
+            keyFields.add(tableIdentifier + "." + getStrategy().getJavaIdentifier(column));
+        }
+        boolean composite = keyColumns.size() > 1;
+        String idType = composite
+                ? out.ref("org.jooq.Record" + keyColumns.size()) + "<" + String.join(", ", keyTypes) + ">"
+                : keyTypes.get(0);
+        String condition = out.ref("org.jooq.Condition");
+
+        printPackage(out, table, Mode.DAO);
+        out.javadoc("The DAO of the table <code>%s</code>.", table.getQualifiedOutputName());
+        printClassAnnotations(out, table, Mode.DAO);
+        if (generateSpringAnnotations()) {
+            out.println("@%s", out.ref("org.springframework.stereotype.Repository"));
+        }
+        out.println("public class %s extends %s<%s, %s, %s> {", className, out.ref(JOOQ_DAO), tableType, recordType,
+                idType);
+        out.println();
+
+        out.javadoc("Create a new %s with the given DSLContext.", className);
+        out.println("public %s(%s dslContext) {", className, out.ref("org.jooq.DSLContext"));
+        out.println("super(dslContext, %s);", tableIdentifier);
+        out.println("}");
+        out.println();
+
+        out.override();
+        out.println("protected %s idCondition(%s id) {", condition, idType);
+        if (composite) {
+            List<String> conditions = new ArrayList<>(keyFields.size());
+            for (int i = 0; i < keyFields.size(); i++) {
+                conditions.add(keyFields.get(i) + ".eq(id.value" + (i + 1) + "())");
+            }
+            out.println("return %s;", String.join(".and(", conditions) + ")".repeat(conditions.size() - 1));
+        } else {
+            out.println("return %s.eq(id);", keyFields.get(0));
+        }
+        out.println("}");
+        out.println();
+
+        out.override();
+        out.println("protected %s idsCondition(%s<%s> ids) {", condition, out.ref("java.util.Collection"), idType);
+        if (composite) {
+            out.println("return %s.row(%s).in(ids.stream().map(id -> id.valuesRow()).toList());",
+                    out.ref("org.jooq.impl.DSL"), String.join(", ", keyFields));
+        } else {
+            out.println("return %s.in(ids);", keyFields.get(0));
+        }
+        out.println("}");
+
+        out.println("}");
+    }
+}
@@ -0,0 +1,166 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.jooq.Table;
+import org.jooq.UpdatableRecord;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous facade of a {@link JooqDAO} that runs the read operations on an executor and returns
+ * {@link CompletableFuture}s, so that independent queries can run concurrently.
+ * <p>
+ * The DAO should be the Spring bean, so that every call runs in its own transaction with its own connection on the
+ * executor thread. Consequently, the calls don't participate in a transaction of the caller.
+ *
+ * <pre>{@code
+ * AsyncJooqDAO<Athlete, AthleteRecord, Long> async = new AsyncJooqDAO<>(athleteDAO);
+ * CompletableFuture<Optional<AthleteRecord>> athlete = async.findByIdAsync(id);
+ * CompletableFuture<List<ResultRecord>> results = asyncResultDAO.findAllAsync(RESULT.ATHLETE_ID.eq(id));
+ * }</pre>
+ *
+ * @param <T>  the type of the jOOQ Table
+ * @param <R>  the type of the jOOQ UpdatableRecord
+ * @param <ID> the type of the primary key
+ */
+public class AsyncJooqDAO<T extends Table<R>, R extends UpdatableRecord<R>, ID> {
+
+    private final JooqDAO<T, R, ID> dao;
+    private final Executor executor;
+
+    /**
+     * Constructs a new AsyncJooqDAO that uses the {@link #defaultExecutor()}.
+     *
+     * @param dao the DAO to call
+     */
+    public AsyncJooqDAO(JooqDAO<T, R, ID> dao) {
+        this(dao, defaultExecutor());
+    }
+
+    /**
+     * Constructs a new AsyncJooqDAO.
+     *
+     * @param dao      the DAO to call
+     * @param executor the executor to run the operations on
+     */
+    public AsyncJooqDAO(JooqDAO<T, R, ID> dao, Executor executor) {
+        this.dao = dao;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the default executor, which creates a virtual thread per task on Java 21 or later and uses a cached pool
+     * of daemon threads on older versions. JDBC calls block, so the executor must not be a small pool like the common
+     * ForkJoinPool.
+     *
+     * @return the default executor
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+
+    /**
+     * Finds a record by its primary key asynchronously, see {@link JooqDAO#findById(Object)}.
+     *
+     * @param id the primary key value of the record to find
+     * @return a future of an Optional containing the found record, or empty if no record was found
+     */
+    public CompletableFuture<Optional<R>> findByIdAsync(ID id) {
+        return CompletableFuture.supplyAsync(() -> dao.findById(id), executor);
+    }
+
+    /**
+     * Finds the records with the given primary keys asynchronously, see {@link JooqDAO#findAllById(Collection)}.
+     *
+     * @param ids the primary key values of the records to find
+     * @return a future of a List containing the found records in the order of the given IDs
+     */
+    public CompletableFuture<List<R>> findAllByIdAsync(Collection<ID> ids) {
+        return CompletableFuture.supplyAsync(() -> dao.findAllById(ids), executor);
+    }
+
+    /**
+     * Checks asynchronously whether a record with the given primary key exists, see {@link JooqDAO#existsById(Object)}.
+     *
+     * @param id the primary key value of the record
+     * @return a future of true if the record exists
+     */
+    public CompletableFuture<Boolean> existsByIdAsync(ID id) {
+        return CompletableFuture.supplyAsync(() -> dao.existsById(id), executor);
+    }
+
+    /**
+     * Retrieves a list of records with filtering asynchronously, see {@link JooqDAO#findAll(Condition)}.
+     *
+     * @param condition the condition to filter the records by
+     * @return a future of a List containing the fetched records
+     */
+    public CompletableFuture<List<R>> findAllAsync(Condition condition) {
+        return CompletableFuture.supplyAsync(() -> dao.findAll(condition), executor);
+    }
+
+    /**
+     * Retrieves a list of records with filtering and sorting asynchronously, see
+     * {@link JooqDAO#findAll(Condition, List)}.
+     *
+     * @param condition the condition to filter the records by
+     * @param orderBy   the list of fields to order the result set by
+     * @return a future of a List containing the fetched records
+     */
+    public CompletableFuture<List<R>> findAllAsync(Condition condition, List<OrderField<?>> orderBy) {
+        return CompletableFuture.supplyAsync(() -> dao.findAll(condition, orderBy), executor);
+    }
+
+    /**
+     * Retrieves a list of records with filtering, pagination, and sorting asynchronously, see
+     * {@link JooqDAO#findAll(Condition, int, int, List)}.
+     *
+     * @param condition the condition to filter the records by
+     * @param offset    the starting position of the first record
+     * @param limit     the maximum number of records to retrieve
+     * @param orderBy   the list of fields to order the result set by
+     * @return a future of a List containing the fetched records
+     */
+    public CompletableFuture<List<R>> findAllAsync(Condition condition, int offset, int limit, List<OrderField<?>> orderBy) {
+        return CompletableFuture.supplyAsync(() -> dao.findAll(condition, offset, limit, orderBy), executor);
+    }
+
+    /**
+     * Counts the number of records that match the given condition asynchronously, see
+     * {@link JooqDAO#countLong(Condition)}.
+     *
+     * @param condition the condition to filter the records by
+     * @return a future of the number of matching records
+     */
+    public CompletableFuture<Long> countAsync(Condition condition) {
+        return CompletableFuture.supplyAsync(() -> dao.countLong(condition), executor);
+    }
+
+    /**
+     * Holder of the lazily created default executor.
+     */
+    private static final class DefaultExecutor {
+
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                AtomicInteger threadNumber = new AtomicInteger();
+                return Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "jooq-dao-async-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+}
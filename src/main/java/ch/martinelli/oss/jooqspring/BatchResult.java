@@ -0,0 +1,56 @@
+package ch.martinelli.oss.jooqspring;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The summary of a batch operation of {@link JooqDAO}.
+ *
+ * @param inserted  the number of records that were inserted
+ * @param updated   the number of records that were updated
+ * @param batches   the number of JDBC batches that were executed
+ * @param rowCounts the number of affected rows for each record, in the order of the records
+ */
+public record BatchResult(int inserted, int updated, int batches, int[] rowCounts) {
+
+    /**
+     * Returns the total number of affected rows.
+     *
+     * @return the sum of the row counts, ignoring unknown row counts reported as negative numbers by the JDBC driver
+     */
+    public int affectedRows() {
+        int affectedRows = 0;
+        for (int rowCount : rowCounts) {
+            if (rowCount > 0) {
+                affectedRows += rowCount;
+            }
+        }
+        return affectedRows;
+    }
+
+    /**
+     * Compares the row counts by their contents.
+     *
+     * @param o the object to compare with
+     * @return true if the object is a BatchResult with the same counts and row counts
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BatchResult other
+               && inserted == other.inserted
+               && updated == other.updated
+               && batches == other.batches
+               && Arrays.equals(rowCounts, other.rowCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(inserted, updated, batches) + Arrays.hashCode(rowCounts);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult[inserted=" + inserted + ", updated=" + updated + ", batches=" + batches
+               + ", rowCounts=" + Arrays.toString(rowCounts) + "]";
+    }
+}
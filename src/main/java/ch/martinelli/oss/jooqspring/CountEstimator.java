@@ -0,0 +1,68 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.DSLContext;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+/**
+ * Estimates the number of records in a table, used by {@link JooqDAO#approximateCount()}.
+ * <p>
+ * Counting all records of a large table is expensive on many databases. Estimators can use the statistics maintained
+ * by the database instead, which are fast but may be outdated.
+ */
+@FunctionalInterface
+public interface CountEstimator {
+
+    /**
+     * Estimates the number of records in the given table.
+     *
+     * @param dslContext the DSLContext to query the database
+     * @param table      the table
+     * @return the estimated number of records
+     */
+    long estimate(DSLContext dslContext, Table<?> table);
+
+    /**
+     * Returns an estimator that counts the records exactly.
+     *
+     * @return the exact estimator
+     */
+    static CountEstimator exact() {
+        return (dslContext, table) -> dslContext
+                .select(DSL.count().coerce(Long.class))
+                .from(table)
+                .fetchSingle()
+                .value1();
+    }
+
+    /**
+     * Returns an estimator that uses the table statistics of the database if the dialect supports them and falls back
+     * to an exact count otherwise, or if there are no statistics for the table yet.
+     * <ul>
+     *     <li>PostgreSQL: {@code pg_class.reltuples}</li>
+     *     <li>MySQL and MariaDB: {@code information_schema.tables.table_rows}</li>
+     * </ul>
+     *
+     * @return the statistics estimator
+     */
+    static CountEstimator statistics() {
+        return (dslContext, table) -> {
+            Number estimate = switch (dslContext.dialect().family()) {
+                case POSTGRES, YUGABYTEDB -> dslContext
+                        .resultQuery("select reltuples from pg_class where oid = to_regclass(?)",
+                                dslContext.render(table.getQualifiedName()))
+                        .fetchOne(0, Double.class);
+                case MYSQL, MARIADB -> dslContext
+                        .resultQuery("select table_rows from information_schema.tables "
+                                     + "where table_schema = coalesce(?, database()) and table_name = ?",
+                                table.getSchema() == null ? null : table.getSchema().getName(), table.getName())
+                        .fetchOne(0, Long.class);
+                default -> null;
+            };
+            if (estimate == null || estimate.longValue() < 0) {
+                return exact().estimate(dslContext, table);
+            }
+            return estimate.longValue();
+        };
+    }
+}
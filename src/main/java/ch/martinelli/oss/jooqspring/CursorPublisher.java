@@ -0,0 +1,228 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.ConnectionProvider;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.exception.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Flow.Publisher} that emits the records of a lazily fetched jOOQ {@link Cursor} as requested by the
+ * subscriber.
+ * <p>
+ * Every subscription acquires its own connection and opens its own cursor when the first records are requested. The
+ * connection is switched to read-only with auto-commit disabled, so drivers like PostgreSQL honor the fetch size and
+ * fetch the rows in batches instead of buffering the whole result. The records are fetched and emitted on the executor,
+ * never on the thread that requests them, so a subscriber on an event loop is never blocked by JDBC. The cursor is
+ * closed, the transaction is committed and the connection is released when all records are emitted, when the
+ * subscription is cancelled or when an error occurs.
+ * <p>
+ * The records must not be fetched on a thread with an active Spring transaction, e.g. with a direct executor inside a
+ * {@code @Transactional} method, as the connection provider would return the connection of that transaction. In this
+ * case, the subscriber receives an {@link IllegalStateException}.
+ *
+ * @param <R> the type of the jOOQ Record
+ */
+final class CursorPublisher<R extends Record> implements Flow.Publisher<R> {
+
+    private final Supplier<DSLContext> dslContext;
+    private final Function<DSLContext, Cursor<R>> query;
+    private final Executor executor;
+
+    /**
+     * Constructs a new CursorPublisher.
+     *
+     * @param dslContext provides the DSLContext whose connection provider is used, called on the executor
+     * @param query      opens the cursor with a DSLContext bound to the connection of the subscription
+     * @param executor   the executor to fetch and emit the records on
+     */
+    CursorPublisher(Supplier<DSLContext> dslContext, Function<DSLContext, Cursor<R>> query, Executor executor) {
+        this.dslContext = dslContext;
+        this.query = query;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber must not be null");
+        subscriber.onSubscribe(new CursorSubscription<>(subscriber, dslContext, query, executor));
+    }
+
+    /**
+     * The subscription of a single subscriber. All access to the cursor and all signals to the subscriber happen in
+     * {@link #run()}, which is never executed concurrently thanks to the work-in-progress counter.
+     *
+     * @param <R> the type of the jOOQ Record
+     */
+    private static final class CursorSubscription<R extends Record> implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super R> subscriber;
+        private final Supplier<DSLContext> dslContext;
+        private final Function<DSLContext, Cursor<R>> query;
+        private final Executor executor;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+        private ConnectionProvider connectionProvider;
+        private Connection connection;
+        private boolean resetAutoCommit;
+        private boolean resetReadOnly;
+        private Cursor<R> cursor;
+        private boolean done;
+
+        private CursorSubscription(Flow.Subscriber<? super R> subscriber, Supplier<DSLContext> dslContext,
+                                   Function<DSLContext, Cursor<R>> query, Executor executor) {
+            this.subscriber = subscriber;
+            this.dslContext = dslContext;
+            this.query = query;
+            this.executor = executor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("The number of requested records must be positive but was " + n);
+            } else {
+                requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (workInProgress.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    drain();
+                }
+                missed = workInProgress.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            try {
+                if (cancelled) {
+                    finish();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    finish();
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+                if (cursor == null) {
+                    open();
+                }
+
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    if (cancelled) {
+                        finish();
+                        return;
+                    }
+                    R record = cursor.fetchNext();
+                    if (record == null) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(record);
+                    emitted++;
+                }
+                if (demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+            } catch (RuntimeException e) {
+                try {
+                    finish();
+                } catch (RuntimeException finishException) {
+                    e.addSuppressed(finishException);
+                }
+                subscriber.onError(e);
+            }
+        }
+
+        private void open() {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                throw new IllegalStateException("The records cannot be fetched inside a transaction, "
+                                                + "use an executor that runs outside the transaction");
+            }
+            DSLContext context = dslContext.get();
+            connectionProvider = context.configuration().connectionProvider();
+            connection = connectionProvider.acquire();
+            try {
+                if (connection.getAutoCommit()) {
+                    connection.setAutoCommit(false);
+                    resetAutoCommit = true;
+                }
+                if (!connection.isReadOnly()) {
+                    connection.setReadOnly(true);
+                    resetReadOnly = true;
+                }
+            } catch (SQLException e) {
+                throw new DataAccessException("Cannot start the transaction of the cursor", e);
+            }
+            cursor = query.apply(context.configuration().derive(connection).dsl());
+        }
+
+        private void finish() {
+            done = true;
+            Cursor<R> currentCursor = cursor;
+            Connection currentConnection = connection;
+            cursor = null;
+            connection = null;
+            try {
+                if (currentCursor != null) {
+                    currentCursor.close();
+                }
+            } finally {
+                if (currentConnection != null) {
+                    release(currentConnection);
+                }
+            }
+        }
+
+        private void release(Connection currentConnection) {
+            try {
+                if (!currentConnection.getAutoCommit()) {
+                    currentConnection.commit();
+                }
+                if (resetReadOnly) {
+                    currentConnection.setReadOnly(false);
+                }
+                if (resetAutoCommit) {
+                    currentConnection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new DataAccessException("Cannot commit the transaction of the cursor", e);
+            } finally {
+                connectionProvider.release(currentConnection);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ch.martinelli.oss.jooqspring;
+
+/**
+ * A cache used by {@link JooqDAO} to avoid repeated queries. Implementations must be thread-safe.
+ * <p>
+ * {@link LruDAOCache} is a simple size-bounded implementation with expiration. Other cache libraries can be plugged
+ * in by implementing this interface.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public interface DAOCache<K, V> {
+
+    /**
+     * Returns the value cached for the given key.
+     *
+     * @param key the key
+     * @return the cached value, or null if there is no value or it has expired
+     */
+    V get(K key);
+
+    /**
+     * Caches the value for the given key, replacing any previously cached value.
+     *
+     * @param key   the key
+     * @param value the value to cache
+     */
+    void put(K key, V value);
+
+    /**
+     * Removes the value cached for the given key.
+     *
+     * @param key the key
+     */
+    void invalidate(K key);
+
+    /**
+     * Removes all cached values.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,52 @@
+package ch.martinelli.oss.jooqspring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted for every operation of a {@link JooqDAO} while a recording enables it. The event
+ * is enabled by default with a threshold of 0 ms, e.g. with {@code jfr configure} or the settings of the recording.
+ * <p>
+ * The duration of the event is the duration of the operation, so slow database calls can be correlated with GC pauses
+ * and thread stalls in the same recording.
+ */
+@Name(DAOEvent.NAME)
+@Label("DAO Operation")
+@Category({"jOOQ Spring", "DAO"})
+@Description("An operation of a JooqDAO")
+@StackTrace(false)
+final class DAOEvent extends Event {
+
+    /**
+     * The name of the event.
+     */
+    static final String NAME = "ch.martinelli.oss.jooqspring.DAOOperation";
+
+    /**
+     * The type of the event, used to check whether the event is enabled without allocating an event.
+     */
+    static final EventType TYPE = EventType.getEventType(DAOEvent.class);
+
+    @Label("Table")
+    String table;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    @Description("The number of fetched records or affected rows")
+    int rows;
+
+    @Label("Batch Size")
+    @Description("The maximum number of records per statement or JDBC batch, 0 for single record operations")
+    int batchSize;
+
+    @Label("Exception")
+    @Description("The class of the exception if the operation failed")
+    String exception;
+}
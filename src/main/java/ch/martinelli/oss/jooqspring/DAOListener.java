@@ -0,0 +1,35 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Table;
+
+/**
+ * Listener that is notified about every operation of a {@link JooqDAO}, e.g. to record latency histograms and row
+ * counts. See {@link JooqDAO#setListener(DAOListener)}.
+ * <p>
+ * The listener is called synchronously on the thread that executed the operation, so implementations must be fast and
+ * thread-safe. Lazily fetched results ({@link JooqDAO#stream} and {@link JooqDAO#publish}) are not reported.
+ */
+public interface DAOListener {
+
+    /**
+     * Called after an operation completed successfully.
+     *
+     * @param table         the table of the DAO
+     * @param operation     the operation
+     * @param durationNanos the duration of the operation in nanoseconds
+     * @param rows          for read operations the number of fetched records, 1 for counts and existence checks, for
+     *                      write operations the number of affected rows
+     */
+    void operationCompleted(Table<?> table, DAOOperation operation, long durationNanos, int rows);
+
+    /**
+     * Called after an operation failed.
+     *
+     * @param table         the table of the DAO
+     * @param operation     the operation
+     * @param durationNanos the duration of the operation in nanoseconds
+     * @param exception     the exception thrown by the operation
+     */
+    default void operationFailed(Table<?> table, DAOOperation operation, long durationNanos, RuntimeException exception) {
+    }
+}
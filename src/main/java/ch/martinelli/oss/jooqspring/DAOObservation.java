@@ -0,0 +1,180 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Table;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Measures a single operation of a {@link JooqDAO} and reports it to the {@link DAOListener} and as a {@link DAOEvent}
+ * to the JDK Flight Recorder.
+ * <p>
+ * If there is no listener and the event is not enabled, the shared {@link #DISABLED} instance is used, so that
+ * observing an operation doesn't allocate.
+ */
+final class DAOObservation {
+
+    /**
+     * The observation used if there is no listener and the event is not enabled. All methods only return their
+     * argument.
+     */
+    static final DAOObservation DISABLED = new DAOObservation(null, null, null, 0, null);
+
+    private final DAOListener listener;
+    private final Table<?> table;
+    private final DAOOperation operation;
+    private final int batchSize;
+    private final long startNanos;
+    private final DAOEvent event;
+
+    private DAOObservation(DAOListener listener, Table<?> table, DAOOperation operation, int batchSize,
+                           DAOEvent event) {
+        this.listener = listener;
+        this.table = table;
+        this.operation = operation;
+        this.batchSize = batchSize;
+        this.event = event;
+        if (event != null) {
+            event.begin();
+        }
+        this.startNanos = listener != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Starts observing an operation.
+     *
+     * @param listener  the listener, may be null
+     * @param table     the table of the DAO
+     * @param operation the operation
+     * @param batchSize the maximum number of records per statement or JDBC batch, 0 for single record operations
+     * @return the observation
+     */
+    static DAOObservation start(DAOListener listener, Table<?> table, DAOOperation operation, int batchSize) {
+        boolean recording = DAOEvent.TYPE.isEnabled();
+        if (listener == null && !recording) {
+            return DISABLED;
+        }
+        return new DAOObservation(listener, table, operation, batchSize, recording ? new DAOEvent() : null);
+    }
+
+    /**
+     * Reports the successful completion of the operation.
+     *
+     * @param result the result of the operation, records or a page of records for read operations and a
+     *               {@link BatchResult} for batch write operations
+     * @param <X>    the type of the result
+     * @return the result
+     */
+    <X> X completed(X result) {
+        if (this != DISABLED) {
+            report(rows(result));
+        }
+        return result;
+    }
+
+    /**
+     * Reports the successful completion of the operation.
+     *
+     * @param result the number of affected rows for write operations, or a count for read operations
+     * @return the result
+     */
+    int completed(int result) {
+        if (this != DISABLED) {
+            report(operation.isWrite() ? result : 1);
+        }
+        return result;
+    }
+
+    /**
+     * Reports the successful completion of a count operation.
+     *
+     * @param result the count
+     * @return the result
+     */
+    long completed(long result) {
+        if (this != DISABLED) {
+            report(1);
+        }
+        return result;
+    }
+
+    /**
+     * Reports the successful completion of an existence check.
+     *
+     * @param result the result of the existence check
+     * @return the result
+     */
+    boolean completed(boolean result) {
+        if (this != DISABLED) {
+            report(1);
+        }
+        return result;
+    }
+
+    /**
+     * Reports the successful completion of an operation that passed the fetched records to a consumer.
+     *
+     * @param rows the number of records passed to the consumer
+     */
+    void consumed(int rows) {
+        if (this != DISABLED) {
+            report(rows);
+        }
+    }
+
+    /**
+     * Reports the failure of the operation.
+     *
+     * @param exception the exception thrown by the operation
+     * @return the exception to be rethrown
+     */
+    RuntimeException failed(RuntimeException exception) {
+        if (this != DISABLED) {
+            if (listener != null) {
+                listener.operationFailed(table, operation, System.nanoTime() - startNanos, exception);
+            }
+            commit(0, exception);
+        }
+        return exception;
+    }
+
+    private void report(int rows) {
+        if (listener != null) {
+            listener.operationCompleted(table, operation, System.nanoTime() - startNanos, rows);
+        }
+        commit(rows, null);
+    }
+
+    private void commit(int rows, RuntimeException exception) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.table = table.getName();
+            event.operation = operation.name();
+            event.rows = rows;
+            event.batchSize = batchSize;
+            event.exception = exception == null ? null : exception.getClass().getName();
+            event.commit();
+        }
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        } else if (result instanceof KeysetPage<?> page) {
+            return page.records().size();
+        } else if (result instanceof Slice<?> slice) {
+            return slice.records().size();
+        } else if (result instanceof Page<?> page) {
+            return page.records().size();
+        } else if (result instanceof BatchResult batchResult) {
+            return batchResult.affectedRows();
+        } else {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ch.martinelli.oss.jooqspring;
+
+/**
+ * The operations of {@link JooqDAO} reported to a {@link DAOListener}.
+ */
+public enum DAOOperation {
+
+    /**
+     * {@link JooqDAO#findById(Object)}
+     */
+    FIND_BY_ID(false),
+    /**
+     * {@link JooqDAO#findAllById(java.util.Collection)}
+     */
+    FIND_ALL_BY_ID(false),
+    /**
+     * {@link JooqDAO#existsById(Object)}
+     */
+    EXISTS_BY_ID(false),
+    /**
+     * {@link JooqDAO#existingIds(java.util.Collection)}
+     */
+    EXISTING_IDS(false),
+    /**
+     * The findAll and findAllInto methods
+     */
+    FIND_ALL(false),
+    /**
+     * The findAllAfter methods
+     */
+    FIND_ALL_AFTER(false),
+    /**
+     * {@link JooqDAO#findSlice(org.jooq.Condition, int, int, java.util.List)}
+     */
+    FIND_SLICE(false),
+    /**
+     * {@link JooqDAO#findPage(org.jooq.Condition, int, int, java.util.List)}
+     */
+    FIND_PAGE(false),
+    /**
+     * {@link JooqDAO#forEach(org.jooq.Condition, java.util.function.Consumer)}
+     */
+    FOR_EACH(false),
+    /**
+     * The count and countLong methods
+     */
+    COUNT(false),
+    /**
+     * {@link JooqDAO#approximateCount()}
+     */
+    APPROXIMATE_COUNT(false),
+    /**
+     * {@link JooqDAO#exists(org.jooq.Condition)}
+     */
+    EXISTS(false),
+    /**
+     * {@link JooqDAO#save(org.jooq.UpdatableRecord)}
+     */
+    SAVE(true),
+    /**
+     * The saveAll methods
+     */
+    SAVE_ALL(true),
+    /**
+     * The insertAll methods
+     */
+    INSERT_ALL(true),
+    /**
+     * {@link JooqDAO#merge(org.jooq.UpdatableRecord)}
+     */
+    MERGE(true),
+    /**
+     * The mergeAll methods
+     */
+    MERGE_ALL(true),
+    /**
+     * {@link JooqDAO#delete(org.jooq.UpdatableRecord)} and {@link JooqDAO#delete(org.jooq.Condition)}
+     */
+    DELETE(true),
+    /**
+     * {@link JooqDAO#deleteById(Object)}
+     */
+    DELETE_BY_ID(true);
+
+    private final boolean write;
+
+    DAOOperation(boolean write) {
+        this.write = write;
+    }
+
+    /**
+     * Returns whether the operation writes to the database.
+     *
+     * @return true for write operations, false for read operations
+     */
+    public boolean isWrite() {
+        return write;
+    }
+}
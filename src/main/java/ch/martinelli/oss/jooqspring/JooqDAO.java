@@ -1,10 +1,34 @@
 package ch.martinelli.oss.jooqspring;
 
 import org.jooq.*;
+import org.jooq.impl.DSL;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.lang.reflect.Modifier;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.jooq.impl.DSL.row;
 
@@ -19,6 +43,16 @@ import static org.jooq.impl.DSL.row;
 @Transactional(readOnly = true)
 public abstract class JooqDAO<T extends Table<R>, R extends UpdatableRecord<R>, ID> {
 
+    /**
+     * The default maximum number of bind parameters per query. It stays below the limits of common JDBC drivers and
+     * databases, e.g. 1000 expressions in an Oracle IN list or 2100 parameters on SQL Server.
+     */
+    public static final int DEFAULT_MAX_BIND_PARAMETERS = 1000;
+    /**
+     * The default maximum number of records per JDBC batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     /**
      * The DSLContext instance used for executing SQL queries and interacting with the database.
      * It serves as the primary interface for jOOQ operations.
@@ -30,225 +64,1941 @@ public abstract class JooqDAO<T extends Table<R>, R extends UpdatableRecord<R>,
      * Used for performing CRUD operations.
      */
     protected final T table;
+    /**
+     * The primary key of the table, null for tables without a primary key.
+     */
+    private final UniqueKey<R> primaryKey;
+    /**
+     * The fields of the primary key, null for tables without a primary key.
+     */
+    private final TableField<R, ?>[] primaryKeyFields;
+    /**
+     * The class of the IDs resolved from the type arguments of the subclass, null if it cannot be resolved.
+     */
+    private final Class<?> idType;
+    /**
+     * The key extractor for IDs of {@link #idType}, null for single column primary keys or if the ID class is not
+     * concrete.
+     */
+    private final KeyExtractor idKeyExtractor;
+    /**
+     * The key extractors for composite primary keys and ID classes other than {@link #idType}, built once per ID class.
+     */
+    private final Map<Class<?>, KeyExtractor> keyExtractors = new ConcurrentHashMap<>();
+    /**
+     * The projections used by the findAllInto methods, built once per projection class.
+     */
+    private final Map<Class<?>, Projection<?>> projections = new ConcurrentHashMap<>();
+    /**
+     * The maximum number of bind parameters used by a single query of the multi-ID methods.
+     */
+    private int maxBindParameters = DEFAULT_MAX_BIND_PARAMETERS;
+    /**
+     * The JDBC fetch size used by the streaming methods, 0 means the driver's default.
+     */
+    private int fetchSize;
+    /**
+     * The maximum number of records per JDBC batch.
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    /**
+     * The optional cache of {@link #findById(Object)}, null if caching is disabled.
+     */
+    private volatile DAOCache<Object, R> cache;
+    /**
+     * The optional cache of the count methods, null if caching is disabled.
+     */
+    private volatile DAOCache<Object, Long> countCache;
+    /**
+     * Incremented on every cache invalidation, so that a query running concurrently to a write doesn't cache a stale
+     * record.
+     */
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    /**
+     * Applies the cache invalidations, deferred to the commit inside transactions.
+     */
+    private final PendingInvalidations.Target invalidationTarget = this::invalidate;
+    /**
+     * Whether concurrent calls of {@link #findById(Object)} for the same ID share one query.
+     */
+    private volatile boolean coalescing;
+    /**
+     * The queries of {@link #findById(Object)} in flight by ID key, used if coalescing is enabled.
+     */
+    private final Map<Object, CompletableFuture<Optional<R>>> inFlightQueries = new ConcurrentHashMap<>();
+    /**
+     * The estimator used by {@link #approximateCount()}.
+     */
+    private CountEstimator countEstimator = CountEstimator.statistics();
+    /**
+     * The optional read replicas used by the read-only methods, null if all queries use {@link #dslContext}.
+     */
+    private volatile ReadReplicas readReplicas;
+    /**
+     * The optional listener notified about every operation, null if operations are not observed.
+     */
+    private volatile DAOListener listener;
+    /**
+     * Whether the fixed-shape queries are rendered once and then executed with new bind values only.
+     */
+    private volatile boolean queryTemplates;
+    /**
+     * Whether the IN lists of the multi-ID methods are padded to the next power of two.
+     */
+    private volatile boolean inListPadding;
+    /**
+     * The rendered SQL of the fixed-shape queries, used if query templates are enabled.
+     */
+    private final QueryTemplates templates = new QueryTemplates();
 
     /**
      * Constructs a new JooqRepository with the specified DSLContext and table.
      *
      * @param dslContext the DSLContext to be used for database operations
      * @param table      the table associated with this repository
+     * @throws IllegalArgumentException if the table does not have a primary key or the members of the ID class cannot
+     *                                  be mapped to a composite primary key
      */
     public JooqDAO(DSLContext dslContext, T table) {
+        this(dslContext, table, true);
+    }
+
+    /**
+     * Constructs a new JooqRepository with the specified DSLContext and table. The primary key metadata is resolved
+     * once, so that the methods don't resolve it on every call.
+     *
+     * @param dslContext         the DSLContext to be used for database operations
+     * @param table              the table associated with this repository
+     * @param primaryKeyRequired false to allow tables without a primary key, e.g. views, the methods that need a
+     *                           primary key then throw an IllegalArgumentException
+     * @throws IllegalArgumentException if primaryKeyRequired is true and the table does not have a primary key, or the
+     *                                  members of the ID class cannot be mapped to a composite primary key
+     */
+    public JooqDAO(DSLContext dslContext, T table, boolean primaryKeyRequired) {
         this.dslContext = dslContext;
         this.table = table;
+        this.primaryKey = table.getPrimaryKey();
+        if (primaryKey == null && primaryKeyRequired) {
+            throw new IllegalArgumentException("The table " + table.getName() + " does not have a primary key");
+        }
+        this.primaryKeyFields = primaryKey != null ? primaryKey.getFieldsArray() : null;
+
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(getClass(), JooqDAO.class);
+        this.idType = typeArguments != null ? typeArguments[2] : null;
+        if (primaryKeyFields != null && primaryKeyFields.length > 1 && idType != null
+            && !idType.isInterface() && !Modifier.isAbstract(idType.getModifiers())) {
+            this.idKeyExtractor = KeyExtractor.of(idType, primaryKeyFields);
+        } else {
+            this.idKeyExtractor = null;
+        }
     }
 
     /**
-     * Finds a record by its primary key.
+     * Returns the maximum number of bind parameters used by a single query of the multi-ID methods.
      *
-     * @param id the primary key value of the record to find
-     * @return an Optional containing the found record, or empty if no record was found
-     * @throws IllegalArgumentException if the table does not have a primary key
+     * @return the maximum number of bind parameters
      */
-    public Optional<R> findById(ID id) {
-        if (table.getPrimaryKey() == null) {
-            throw new IllegalArgumentException("This method can only be called on tables with a primary key");
+    public int getMaxBindParameters() {
+        return maxBindParameters;
+    }
+
+    /**
+     * Sets the maximum number of bind parameters used by a single query of the multi-ID methods. Larger inputs are split
+     * into chunks that are queried one after the other. Defaults to {@link #DEFAULT_MAX_BIND_PARAMETERS}.
+     *
+     * @param maxBindParameters the maximum number of bind parameters, must be positive
+     * @throws IllegalArgumentException if maxBindParameters is not positive
+     */
+    public void setMaxBindParameters(int maxBindParameters) {
+        if (maxBindParameters < 1) {
+            throw new IllegalArgumentException("maxBindParameters must be positive");
         }
-        return dslContext
-                .selectFrom(table)
-                .where(eq(table.getPrimaryKey(), id))
-                .fetchOptional();
+        this.maxBindParameters = maxBindParameters;
     }
 
     /**
-     * Retrieves a list of records from the database with pagination and sorting.
+     * Returns the JDBC fetch size used by the streaming methods.
      *
-     * @param offset  the starting position of the first record
-     * @param limit   the maximum number of records to retrieve
-     * @param orderBy the list of fields to order the result set by
-     * @return a List containing the fetched records
+     * @return the fetch size, 0 means the driver's default
      */
-    public List<R> findAll(int offset, int limit, List<OrderField<?>> orderBy) {
-        return dslContext
-                .selectFrom(table)
-                .orderBy(orderBy)
-                .offset(offset)
-                .limit(limit)
-                .fetch();
+    public int getFetchSize() {
+        return fetchSize;
     }
 
     /**
-     * Retrieves a list of records from the database with filtering, pagination, and sorting.
+     * Sets the JDBC fetch size used by the streaming methods {@link #stream(Condition, List)} and
+     * {@link #forEach(Condition, Consumer)}. Some drivers, e.g. PostgreSQL, only fetch the rows in batches if the fetch
+     * size is set and the statement runs inside a transaction. Defaults to 0, the driver's default.
      *
-     * @param condition the condition to filter the records by
-     * @param offset    the starting position of the first record
-     * @param limit     the maximum number of records to retrieve
-     * @param orderBy   the list of fields to order the result set by
-     * @return a List containing the fetched records
+     * @param fetchSize the fetch size, must not be negative
+     * @throws IllegalArgumentException if fetchSize is negative
      */
-    public List<R> findAll(Condition condition, int offset, int limit, List<OrderField<?>> orderBy) {
-        return dslContext
-                .selectFrom(table)
-                .where(condition)
-                .orderBy(orderBy)
-                .offset(offset)
-                .limit(limit)
-                .fetch();
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("fetchSize must not be negative");
+        }
+        this.fetchSize = fetchSize;
     }
 
     /**
-     * Retrieves a list of records from the database with filtering.
+     * Returns the maximum number of records per JDBC batch used by {@link #saveAll(List)}.
      *
-     * @param condition the condition to filter the records by
-     * @return a List containing the fetched records
+     * @return the batch size
      */
-    public List<R> findAll(Condition condition) {
-        return dslContext
-                .selectFrom(table)
-                .where(condition)
-                .fetch();
+    public int getBatchSize() {
+        return batchSize;
     }
 
     /**
-     * Retrieves a list of records from the database with filtering, and sorting.
+     * Sets the maximum number of records per JDBC batch used by {@link #saveAll(List)}. Defaults to
+     * {@link #DEFAULT_BATCH_SIZE}.
      *
-     * @param condition the condition to filter the records by
-     * @param orderBy   the list of fields to order the result set by
-     * @return a List containing the fetched records
+     * @param batchSize the batch size, must be positive
+     * @throws IllegalArgumentException if batchSize is not positive
      */
-    public List<R> findAll(Condition condition, List<OrderField<?>> orderBy) {
-        return dslContext
-                .selectFrom(table)
-                .where(condition)
-                .orderBy(orderBy)
-                .fetch();
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
     }
 
     /**
-     * Counts the total number of records in the associated table.
+     * Returns the cache used by {@link #findById(Object)}.
      *
-     * @return the total number of records in the table
+     * @return the cache, or null if caching is disabled
      */
-    public int count() {
-        return dslContext.fetchCount(table);
+    public DAOCache<Object, R> getCache() {
+        return cache;
     }
 
     /**
-     * Counts the number of records in the associated table that match the given condition.
+     * Sets the cache used by {@link #findById(Object)}, e.g. a {@link LruDAOCache}. The keys are the primary key values,
+     * a List of the values for composite primary keys. Cached records are copied, so callers can modify the returned
+     * records without affecting the cache.
+     * <p>
+     * The cached records are invalidated by the write methods of this DAO. {@link #delete(Condition)} invalidates the
+     * whole cache. Inside a transaction, the invalidations are collected and applied after the commit, and discarded on
+     * rollback. Until then, the transaction reads the affected records from the database. Changes made without this
+     * DAO are not detected, so the cache should only be used for tables that are only modified through this DAO or
+     * with a time to live.
      *
-     * @param condition the condition to filter the records by
-     * @return the number of matching records
+     * @param cache the cache, or null to disable caching
      */
-    public int count(Condition condition) {
-        return dslContext.fetchCount(table, condition);
+    public void setCache(DAOCache<Object, R> cache) {
+        this.cache = cache;
     }
 
     /**
-     * Saves (INSERT or UPDATE) the given record to the database. Attaches the record to the
-     * DSLContext and stores it.
+     * Returns the estimator used by {@link #approximateCount()}.
      *
-     * @param record the record to save
-     * @return the number of affected rows
+     * @return the count estimator
      */
-    @Transactional
-    public int save(R record) {
-        dslContext.attach(record);
-        return record.store();
+    public CountEstimator getCountEstimator() {
+        return countEstimator;
     }
 
     /**
-     * Saves a list of records to the database using batch store operations.
+     * Sets the estimator used by {@link #approximateCount()}. Defaults to {@link CountEstimator#statistics()}.
      *
-     * @param records the list of records to be saved
-     * @return an array containing the number of affected rows for each batch operation
+     * @param countEstimator the count estimator
+     * @throws IllegalArgumentException if countEstimator is null
      */
-    @Transactional
-    public int[] saveAll(List<R> records) {
-        return dslContext.batchStore(records).execute();
+    public void setCountEstimator(CountEstimator countEstimator) {
+        if (countEstimator == null) {
+            throw new IllegalArgumentException("countEstimator must not be null");
+        }
+        this.countEstimator = countEstimator;
     }
 
     /**
-     * Merges (INSERT … ON DUPLICATE KEY UPDATE) the given record into the database. Attaches the record to the DSLContext
-     * and attempts to merge it.
+     * Returns the cache used by the count methods.
      *
-     * @param record the record to merge
-     * @return the number of affected rows
+     * @return the count cache, or null if caching is disabled
      */
-    @Transactional
-    public int merge(R record) {
-        dslContext.attach(record);
-        return record.merge();
+    public DAOCache<Object, Long> getCountCache() {
+        return countCache;
     }
 
     /**
-     * Deletes the specified record from the database.
+     * Sets the cache used by {@link #count()}, {@link #count(Condition)}, {@link #countLong()} and
+     * {@link #countLong(Condition)}, e.g. a {@link LruDAOCache} with a time to live. The keys are the rendered
+     * conditions together with their bind values.
+     * <p>
+     * All cached counts are invalidated by every write method of this DAO, after the commit inside a transaction.
+     * Changes made without this DAO are only picked up once the cached counts expire.
      *
-     * @param record the record to delete
-     * @return the number of affected rows
+     * @param countCache the count cache, or null to disable caching
      */
-    @Transactional
-    public int delete(R record) {
-        dslContext.attach(record);
-        return record.delete();
+    public void setCountCache(DAOCache<Object, Long> countCache) {
+        this.countCache = countCache;
     }
 
     /**
-     * Deletes a record from the database identified by its primary key.
+     * Returns the read replicas used by the read-only methods.
      *
-     * @param id the primary key value of the record to delete
-     * @return the number of affected rows
+     * @return the read replicas, or null if all queries use the primary DSLContext
+     */
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
+    /**
+     * Sets the read replicas used by the read-only methods. Writes always use the primary {@link #dslContext}. Inside a
+     * read-write transaction, reads use the primary as well, so they see the changes of the transaction.
+     * <p>
+     * As the DAO is annotated with {@code @Transactional(readOnly = true)}, the transaction manager of the primary
+     * still begins a transaction for each read. Use a {@code LazyConnectionDataSourceProxy} for the primary DataSource
+     * so that no primary connection is acquired for reads that go to a replica. Records fetched from a replica are
+     * attached to the replica's DSLContext and must be written with the write methods of this DAO, which attach them
+     * to the primary.
+     * <p>
+     * If the {@link #setCache(DAOCache) cache} or the {@link #setCountCache(DAOCache) count cache} is enabled, their
+     * misses are fetched from the primary, as a lagging replica would put outdated values back into the cache after
+     * they were invalidated. The lazy methods {@link #stream(Condition, List)} and {@link #forEach(Condition, Consumer)}
+     * always use the primary, so their cursor stays inside the transaction of the caller.
+     *
+     * @param readReplicas the read replicas, or null to use the primary for all queries
+     */
+    public void setReadReplicas(ReadReplicas readReplicas) {
+        this.readReplicas = readReplicas;
+    }
+
+    /**
+     * Returns the listener notified about the operations of this DAO.
+     *
+     * @return the listener, or null if operations are not observed
+     */
+    public DAOListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the listener notified about the operations of this DAO, e.g. a {@link MicrometerDAOListener}, to record the
+     * latency and the number of fetched or affected rows per operation. Without a listener, observing an operation
+     * neither measures the time nor allocates.
+     *
+     * @param listener the listener, or null to disable observing
+     */
+    public void setListener(DAOListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns whether the fixed-shape queries are rendered once and then executed with new bind values only.
+     *
+     * @return true if query templates are enabled
+     */
+    public boolean isQueryTemplates() {
+        return queryTemplates;
+    }
+
+    /**
+     * Enables or disables query templates. If enabled, the SQL of {@link #findById(Object)},
+     * {@link #existsById(Object)}, {@link #deleteById(Object)} and {@link #count()} is rendered once per configuration
+     * with indexed parameters and later calls only bind the primary key values, which saves rendering the query on
+     * every call. The stable SQL also lets the statement cache of the JDBC driver or the connection pool reuse the
+     * prepared statements.
+     * <p>
+     * The templates are rendered with {@link #idCondition(Object)}, which must create a condition with one bind value
+     * per primary key field in the order of the fields. Settings changed after the first call are not picked up.
+     *
+     * @param queryTemplates true to enable query templates
+     */
+    public void setQueryTemplates(boolean queryTemplates) {
+        this.queryTemplates = queryTemplates;
+        if (!queryTemplates) {
+            templates.clear();
+        }
+    }
+
+    /**
+     * Returns whether the IN lists of the multi-ID methods are padded to the next power of two.
+     *
+     * @return true if IN list padding is enabled
+     */
+    public boolean isInListPadding() {
+        return inListPadding;
+    }
+
+    /**
+     * Enables or disables IN list padding for {@link #findAllById(Collection)} and {@link #existingIds(Collection)}.
+     * If enabled, the IN list of each query is padded to the next power of two, but at most to the chunk size given by
+     * {@link #getMaxBindParameters()}, by repeating the last ID. This reduces the number of distinct SQL strings, so
+     * the plan cache of the database and the statement cache of the driver are reused instead of thrashed.
+     * <p>
+     * In contrast to the {@code inListPadding} setting of jOOQ, this only affects the queries of this DAO.
+     *
+     * @param inListPadding true to enable IN list padding
+     */
+    public void setInListPadding(boolean inListPadding) {
+        this.inListPadding = inListPadding;
+    }
+
+    /**
+     * Returns whether concurrent calls of {@link #findById(Object)} for the same ID share one query.
+     *
+     * @return true if coalescing is enabled
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Enables or disables the coalescing of concurrent {@link #findById(Object)} calls. If enabled, concurrent calls
+     * for the same ID that miss the cache wait for the query that is already in flight instead of issuing their own.
+     * Waiting threads don't pin virtual threads. Calls inside a read-write transaction are never coalesced, as they
+     * may see uncommitted changes. To load many different IDs in one query use {@link #findAllById(Collection)}.
+     *
+     * @param coalescing true to enable coalescing
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Finds a record by its primary key.
+     *
+     * @param id the primary key value of the record to find
+     * @return an Optional containing the found record, or empty if no record was found
      * @throws IllegalArgumentException if the table does not have a primary key
      */
-    @Transactional
-    public int deleteById(ID id) {
-        if (table.getPrimaryKey() == null) {
+    public Optional<R> findById(ID id) {
+        if (primaryKey == null) {
             throw new IllegalArgumentException("This method can only be called on tables with a primary key");
         }
-        return dslContext.deleteFrom(table)
-                .where(eq(table.getPrimaryKey(), id))
-                .execute();
+        DAOObservation observation = observe(DAOOperation.FIND_BY_ID);
+        try {
+            return observation.completed(findByIdCached(id));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
     }
 
     /**
-     * Deletes records from the database that match the given condition.
+     * Finds a record by its primary key using the cache and coalescing if enabled.
      *
-     * @param condition the condition to filter which records to delete
-     * @return the number of affected rows
+     * @param id the primary key value of the record to find
+     * @return an Optional containing the found record, or empty if no record was found
      */
-    @Transactional
-    public int delete(Condition condition) {
-        return dslContext
-                .deleteFrom(table)
-                .where(condition).execute();
+    private Optional<R> findByIdCached(ID id) {
+        DAOCache<Object, R> currentCache = cache;
+        if (currentCache == null && !coalescing) {
+            return fetchById(readContext(), id);
+        }
+
+        Object key = idKey(id);
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            PendingInvalidations pending = PendingInvalidations.current(invalidationTarget, false);
+            if (pending != null && pending.affects(key)) {
+                return fetchById(dslContext, id);
+            }
+        }
+        if (currentCache != null) {
+            R cached = currentCache.get(key);
+            if (cached != null) {
+                return Optional.of(copy(cached));
+            }
+        }
+        // A replica may lag behind the primary and would put records back into the cache that were invalidated
+        // after a commit, so the cache is only filled from the primary
+        DSLContext context = currentCache != null ? dslContext : readContext();
+        long generation = cacheGeneration.get();
+        Optional<R> record = coalescing && isReadOnly() ? fetchByIdCoalesced(context, key, id) : fetchById(context, id);
+        if (currentCache != null && record.isPresent() && generation == cacheGeneration.get()) {
+            currentCache.put(key, copy(record.get()));
+        }
+        return record;
     }
 
     /**
-     * Generates a condition to be used in database queries to match a given primary key and its value.
-     * Inspired by {@link org.jooq.impl.DAOImpl}
+     * Fetches a record by its primary key from the database.
      *
-     * @param pk the primary key of the table
-     * @param id the value of the primary key to match
-     * @return a Condition used to match the specified primary key and its value
+     * @param context the DSLContext to read from
+     * @param id      the primary key value of the record to find
+     * @return an Optional containing the found record, or empty if no record was found
      */
-    @SuppressWarnings("unchecked")
-    private Condition eq(UniqueKey<R> pk, ID id) {
-        List<TableField<R, ?>> fields = pk.getFields();
-        if (fields.size() == 1) {
-            TableField<R, ?> first = fields.get(0);
-            return ((Field<Object>) first).equal(id);
-        } else {
-            java.lang.reflect.Field[] recordFields = id.getClass().getDeclaredFields();
-            Object[] idValues = new Object[recordFields.length];
-            for (int i = 0; i < recordFields.length; i++) {
-                try {
-                    java.lang.reflect.Field recordField = recordFields[i];
-                    recordField.setAccessible(true);
-                    idValues[i] = recordField.get(id);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException(e);
+    private Optional<R> fetchById(DSLContext context, ID id) {
+        if (queryTemplates) {
+            String sql = templates.sql(QueryTemplates.Template.FIND_BY_ID, context,
+                    () -> context.selectFrom(table).where(idCondition(id)));
+            return context.resultQuery(sql, idParams(id)).coerce(table).fetchOptional();
+        }
+        return context
+                .selectFrom(table)
+                .where(idCondition(id))
+                .fetchOptional();
+    }
+
+    /**
+     * Fetches a record by its primary key from the database, sharing the query with concurrent calls for the same key.
+     * The caller that issues the query gets the fetched record, all others get a copy.
+     *
+     * @param context the DSLContext to read from
+     * @param key     the key of the ID, see {@link #idKey(Object)}
+     * @param id      the primary key value of the record to find
+     * @return an Optional containing the found record, or empty if no record was found
+     */
+    private Optional<R> fetchByIdCoalesced(DSLContext context, Object key, ID id) {
+        CompletableFuture<Optional<R>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<R>> inFlight = inFlightQueries.putIfAbsent(key, future);
+        if (inFlight != null) {
+            try {
+                return inFlight.join().map(this::copy);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+        try {
+            Optional<R> record = fetchById(context, id);
+            future.complete(record.map(this::copy));
+            return record;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightQueries.remove(key, future);
+        }
+    }
+
+    /**
+     * Returns the DSLContext for read-only queries, which is a replica if read replicas are configured and the current
+     * thread is not inside a read-write transaction.
+     *
+     * @return the DSLContext to read from
+     */
+    private DSLContext readContext() {
+        ReadReplicas currentReadReplicas = readReplicas;
+        if (currentReadReplicas == null || !isReadOnly()) {
+            return dslContext;
+        }
+        return currentReadReplicas.select();
+    }
+
+    /**
+     * Returns whether the current thread is not inside a transaction that may write.
+     *
+     * @return true if there is no transaction or a read-only transaction
+     */
+    private static boolean isReadOnly() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+               || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Finds the records with the given primary keys. Single column primary keys are queried with an IN list, composite
+     * keys with a row value IN list. Large inputs are split into chunks according to {@link #getMaxBindParameters()}.
+     *
+     * @param ids the primary key values of the records to find
+     * @return a List containing the found records in the order of the given IDs, IDs without a record are skipped
+     * @throws IllegalArgumentException if the table does not have a primary key
+     */
+    public List<R> findAllById(Collection<ID> ids) {
+        if (primaryKey == null) {
+            throw new IllegalArgumentException("This method can only be called on tables with a primary key");
+        }
+        DAOObservation observation = observe(DAOOperation.FIND_ALL_BY_ID, chunkSize());
+        try {
+            Map<Object, ID> idsByKey = new LinkedHashMap<>();
+            for (ID id : ids) {
+                idsByKey.putIfAbsent(idKey(id), id);
+            }
+            Map<Object, R> recordsByKey = new HashMap<>();
+            for (List<ID> chunk : chunks(new ArrayList<>(idsByKey.values()))) {
+                for (R record : readContext().selectFrom(table).where(idsCondition(padded(chunk))).fetch()) {
+                    recordsByKey.put(recordKey(record), record);
                 }
             }
-            return row(pk.getFieldsArray()).equal(idValues);
+            List<R> records = new ArrayList<>(recordsByKey.size());
+            for (Object key : idsByKey.keySet()) {
+                R record = recordsByKey.get(key);
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+            return observation.completed(records);
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Checks whether a record with the given primary key exists.
+     *
+     * @param id the primary key value of the record
+     * @return true if the record exists
+     * @throws IllegalArgumentException if the table does not have a primary key
+     */
+    public boolean existsById(ID id) {
+        if (primaryKey == null) {
+            throw new IllegalArgumentException("This method can only be called on tables with a primary key");
+        }
+        DAOObservation observation = observe(DAOOperation.EXISTS_BY_ID);
+        try {
+            DSLContext context = readContext();
+            if (queryTemplates) {
+                String sql = templates.sql(QueryTemplates.Template.EXISTS_BY_ID, context,
+                        () -> context.select(DSL.field(DSL.exists(
+                                DSL.selectOne().from(table).where(idCondition(id))))));
+                Boolean exists = context.resultQuery(sql, idParams(id)).fetchOne(0, Boolean.class);
+                return observation.completed(Boolean.TRUE.equals(exists));
+            }
+            return observation.completed(context.fetchExists(table, idCondition(id)));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Returns the subset of the given primary keys for which a record exists, e.g. to skip existing records before
+     * inserting. Only the primary key columns are fetched. Large inputs are split into chunks according to
+     * {@link #getMaxBindParameters()}.
+     *
+     * @param ids the primary key values to check
+     * @return a Set containing the IDs of the existing records in the order of the given IDs
+     * @throws IllegalArgumentException if the table does not have a primary key
+     */
+    public Set<ID> existingIds(Collection<ID> ids) {
+        if (primaryKey == null) {
+            throw new IllegalArgumentException("This method can only be called on tables with a primary key");
+        }
+        DAOObservation observation = observe(DAOOperation.EXISTING_IDS, chunkSize());
+        try {
+            Map<Object, ID> idsByKey = new LinkedHashMap<>();
+            for (ID id : ids) {
+                idsByKey.putIfAbsent(idKey(id), id);
+            }
+            Set<Object> existingKeys = new HashSet<>();
+            for (List<ID> chunk : chunks(new ArrayList<>(idsByKey.values()))) {
+                for (org.jooq.Record record : readContext().select(primaryKeyFields).from(table)
+                        .where(idsCondition(padded(chunk))).fetch()) {
+                    existingKeys.add(recordKey(record));
+                }
+            }
+            Set<ID> existingIds = new LinkedHashSet<>();
+            idsByKey.forEach((key, id) -> {
+                if (existingKeys.contains(key)) {
+                    existingIds.add(id);
+                }
+            });
+            return observation.completed(existingIds);
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Retrieves a list of records from the database with pagination and sorting.
+     *
+     * @param offset  the starting position of the first record
+     * @param limit   the maximum number of records to retrieve
+     * @param orderBy the list of fields to order the result set by
+     * @return a List containing the fetched records
+     */
+    public List<R> findAll(int offset, int limit, List<OrderField<?>> orderBy) {
+        DAOObservation observation = observe(DAOOperation.FIND_ALL);
+        try {
+            return observation.completed(readContext()
+                    .selectFrom(table)
+                    .orderBy(orderBy)
+                    .offset(offset)
+                    .limit(limit)
+                    .fetch());
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Retrieves a list of records from the database with filtering, pagination, and sorting.
+     *
+     * @param condition the condition to filter the records by
+     * @param offset    the starting position of the first record
+     * @param limit     the maximum number of records to retrieve
+     * @param orderBy   the list of fields to order the result set by
+     * @return a List containing the fetched records
+     */
+    public List<R> findAll(Condition condition, int offset, int limit, List<OrderField<?>> orderBy) {
+        DAOObservation observation = observe(DAOOperation.FIND_ALL);
+        try {
+            return observation.completed(readContext()
+                    .selectFrom(table)
+                    .where(condition)
+                    .orderBy(orderBy)
+                    .offset(offset)
+                    .limit(limit)
+                    .fetch());
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Retrieves a slice of records from the database with filtering, pagination, and sorting. One more record than
+     * requested is fetched to determine whether there is a next slice, so no separate count query is needed.
+     *
+     * @param condition the condition to filter the records by
+     * @param offset    the starting position of the first record, must not be negative
+     * @param limit     the maximum number of records to retrieve, must be positive
+     * @param orderBy   the list of fields to order the result set by
+     * @return the slice containing the fetched records
+     * @throws IllegalArgumentException if offset is negative or limit is not positive
+     */
+    public Slice<R> findSlice(Condition condition, int offset, int limit, List<OrderField<?>> orderBy) {
+        checkOffsetAndLimit(offset, limit);
+        DAOObservation observation = observe(DAOOperation.FIND_SLICE);
+        try {
+            Result<R> records = readContext()
+                    .selectFrom(table)
+                    .where(condition)
+                    .orderBy(orderBy)
+                    .offset(offset)
+                    .limit(limit + 1L)
+                    .fetch();
+            boolean hasNext = records.size() > limit;
+            if (hasNext) {
+                records.remove(limit);
+            }
+            return observation.completed(new Slice<>(records, offset, limit, hasNext));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Retrieves a page of records from the database with filtering, pagination, and sorting together with the total
+     * number of matching records. The total is calculated with COUNT(*) OVER () in the same query, so no separate count
+     * query is needed unless the offset is beyond the last record.
+     *
+     * @param condition the condition to filter the records by
+     * @param offset    the starting position of the first record, must not be negative
+     * @param limit     the maximum number of records to retrieve, must be positive
+     * @param orderBy   the list of fields to order the result set by
+     * @return the page containing the fetched records and the total number of matching records
+     * @throws IllegalArgumentException if offset is negative or limit is not positive
+     */
+    public Page<R> findPage(Condition condition, int offset, int limit, List<OrderField<?>> orderBy) {
+        checkOffsetAndLimit(offset, limit);
+        DAOObservation observation = observe(DAOOperation.FIND_PAGE);
+        try {
+            Field<Integer> total = DSL.count().over().as("total");
+            Result<org.jooq.Record> result = readContext()
+                    .select(table.asterisk(), total)
+                    .from(table)
+                    .where(condition)
+                    .orderBy(orderBy)
+                    .offset(offset)
+                    .limit(limit)
+                    .fetch();
+            if (result.isEmpty()) {
+                long count = offset == 0 ? 0 : readContext().fetchCount(table, condition);
+                return observation.completed(new Page<R>(List.of(), offset, limit, count));
+            }
+            long count = result.get(0).get(total, Long.class);
+            return observation.completed(new Page<>(result.into(table), offset, limit, count));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Checks the offset and the limit of the offset-based pagination methods.
+     *
+     * @param offset the starting position of the first record
+     * @param limit  the maximum number of records to retrieve
+     * @throws IllegalArgumentException if offset is negative or limit is not positive
+     */
+    private static void checkOffsetAndLimit(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+    }
+
+    /**
+     * Retrieves a page of records from the database with keyset pagination and sorting. In contrast to offset-based
+     * pagination, the performance does not degrade for deep pages if there is an index on the sort fields.
+     *
+     * @param after   the sort values of the last record of the previous page, see {@link KeysetPage#next()}, or null
+     *                for the first page
+     * @param limit   the maximum number of records to retrieve, must be positive
+     * @param orderBy the list of fields to order the result set by, must define a unique order
+     * @return the page containing the fetched records
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public KeysetPage<R> findAllAfter(Object[] after, int limit, List<OrderField<?>> orderBy) {
+        return findAllAfter(DSL.noCondition(), after, limit, orderBy);
+    }
+
+    /**
+     * Retrieves a page of records from the database with filtering, keyset pagination, and sorting. In contrast to
+     * offset-based pagination, the performance does not degrade for deep pages if there is an index on the sort fields.
+     *
+     * @param condition the condition to filter the records by
+     * @param after     the sort values of the last record of the previous page, see {@link KeysetPage#next()}, or null
+     *                  for the first page
+     * @param limit     the maximum number of records to retrieve, must be positive
+     * @param orderBy   the list of fields to order the result set by, must define a unique order
+     * @return the page containing the fetched records
+     * @throws IllegalArgumentException if limit is not positive or an element of orderBy is neither a field nor a sort
+     *                                  field
+     */
+    public KeysetPage<R> findAllAfter(Condition condition, Object[] after, int limit, List<OrderField<?>> orderBy) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        DAOObservation observation = observe(DAOOperation.FIND_ALL_AFTER);
+        try {
+            SelectSeekStepN<R> select = readContext()
+                    .selectFrom(table)
+                    .where(condition)
+                    .orderBy(orderBy.toArray(new OrderField<?>[0]));
+            Result<R> records = after == null
+                    ? select.limit(limit + 1L).fetch()
+                    : select.seek(after).limit(limit + 1L).fetch();
+
+            if (records.size() <= limit) {
+                return observation.completed(new KeysetPage<>(records, null));
+            }
+            records.remove(limit);
+            R last = records.get(limit - 1);
+            Object[] next = new Object[orderBy.size()];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = last.get(sortField(orderBy.get(i)));
+            }
+            return observation.completed(new KeysetPage<>(records, next));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Retrieves a list of records from the database with filtering.
+     *
+     * @param condition the condition to filter the records by
+     * @return a List containing the fetched records
+     */
+    public List<R> findAll(Condition condition) {
+        DAOObservation observation = observe(DAOOperation.FIND_ALL);
+        try {
+            return observation.completed(readContext()
+                    .selectFrom(table)
+                    .where(condition)
+                    .fetch());
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Retrieves a list of records from the database with filtering, and sorting.
+     *
+     * @param condition the condition to filter the records by
+     * @param orderBy   the list of fields to order the result set by
+     * @return a List containing the fetched records
+     */
+    public List<R> findAll(Condition condition, List<OrderField<?>> orderBy) {
+        DAOObservation observation = observe(DAOOperation.FIND_ALL);
+        try {
+            return observation.completed(readContext()
+                    .selectFrom(table)
+                    .where(condition)
+                    .orderBy(orderBy)
+                    .fetch());
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Retrieves the given fields of the records from the database with filtering and sorting. In contrast to
+     * {@link #findAll(Condition, List)}, only the given columns are transferred, e.g. to skip large BLOB or JSON
+     * columns.
+     *
+     * @param condition the condition to filter the records by
+     * @param orderBy   the list of fields to order the result set by
+     * @param fields    the fields to fetch
+     * @return a Result containing the fetched fields of the records
+     */
+    public Result<org.jooq.Record> findAll(Condition condition, List<OrderField<?>> orderBy, Field<?>... fields) {
+        DAOObservation observation = observe(DAOOperation.FIND_ALL);
+        try {
+            return observation.completed(readContext()
+                    .select(fields)
+                    .from(table)
+                    .where(condition)
+                    .orderBy(orderBy)
+                    .fetch());
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Retrieves the records from the database with filtering and maps them into the given projection class, see
+     * {@link #findAllInto(Class, Condition, List)}.
+     *
+     * @param type      the projection class, e.g. a Java record or a DTO
+     * @param condition the condition to filter the records by
+     * @param <P>       the type of the projection class
+     * @return a List containing the fetched projections
+     * @throws IllegalArgumentException if no member of the projection class matches a field of the table, or if the
+     *                                  projection class is a record with a component that matches no field
+     */
+    public <P> List<P> findAllInto(Class<P> type, Condition condition) {
+        return findAllInto(type, condition, List.of());
+    }
+
+    /**
+     * Retrieves the records from the database with filtering and sorting and maps them into the given projection
+     * class, e.g. a Java record or a DTO. Only the columns that match a member of the projection class by name,
+     * ignoring case and underscores, are fetched. Members of a DTO without a matching column keep their default value,
+     * while every component of a Java record must match a column. The matching columns and the mapper are resolved
+     * once per projection class.
+     *
+     * @param type      the projection class, e.g. a Java record or a DTO
+     * @param condition the condition to filter the records by
+     * @param orderBy   the list of fields to order the result set by
+     * @param <P>       the type of the projection class
+     * @return a List containing the fetched projections
+     * @throws IllegalArgumentException if no member of the projection class matches a field of the table, or if the
+     *                                  projection class is a record with a component that matches no field
+     */
+    @SuppressWarnings("unchecked")
+    public <P> List<P> findAllInto(Class<P> type, Condition condition, List<OrderField<?>> orderBy) {
+        Projection<P> projection = (Projection<P>) projections.computeIfAbsent(type, t -> Projection.of(t, table));
+        DAOObservation observation = observe(DAOOperation.FIND_ALL);
+        try {
+            Result<org.jooq.Record> result = readContext()
+                    .select(projection.fields())
+                    .from(table)
+                    .where(condition)
+                    .orderBy(orderBy)
+                    .fetch();
+            return observation.completed(result.map(projection.mapper(result.recordType(), dslContext.configuration())));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Streams the records from the database with filtering and sorting. The records are fetched lazily from an open
+     * cursor, so the result set is never loaded into memory as a whole.
+     * <p>
+     * The stream holds an open JDBC cursor and must be closed by the caller, e.g. with try-with-resources. Because the
+     * connection has to stay open while the stream is consumed, this method must be called inside an existing
+     * transaction. The records are always fetched from the primary, even if read replicas are configured, as the
+     * cursor has to run on the connection of that transaction.
+     *
+     * @param condition the condition to filter the records by
+     * @param orderBy   the list of fields to order the result set by
+     * @return a Stream of the fetched records
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no existing transaction
+     */
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<R> stream(Condition condition, List<OrderField<?>> orderBy) {
+        return dslContext
+                .selectFrom(table)
+                .where(condition)
+                .orderBy(orderBy)
+                .fetchSize(fetchSize)
+                .fetchStream();
+    }
+
+    /**
+     * Passes each record from the database that matches the given condition to the consumer. The records are fetched
+     * lazily from an open cursor, which is closed before this method returns. Like {@link #stream(Condition, List)},
+     * the records are always fetched from the primary, so the cursor runs in the transaction of the caller and drivers
+     * like PostgreSQL honor the {@link #getFetchSize() fetch size}.
+     *
+     * @param condition the condition to filter the records by
+     * @param consumer  the consumer of the fetched records
+     */
+    public void forEach(Condition condition, Consumer<R> consumer) {
+        DAOObservation observation = observe(DAOOperation.FOR_EACH);
+        try (Cursor<R> cursor = dslContext
+                .selectFrom(table)
+                .where(condition)
+                .fetchSize(fetchSize)
+                .fetchLazy()) {
+            int rows = 0;
+            for (R record : cursor) {
+                consumer.accept(record);
+                rows++;
+            }
+            observation.consumed(rows);
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Publishes the records from the database with filtering and sorting as a reactive stream, see
+     * {@link #publish(Condition, List, Executor)}. The records are fetched on the
+     * {@link AsyncJooqDAO#defaultExecutor()}.
+     *
+     * @param condition the condition to filter the records by
+     * @param orderBy   the list of fields to order the result set by
+     * @return a Publisher of the fetched records
+     */
+    public Flow.Publisher<R> publish(Condition condition, List<OrderField<?>> orderBy) {
+        return publish(condition, orderBy, AsyncJooqDAO.defaultExecutor());
+    }
+
+    /**
+     * Publishes the records from the database with filtering and sorting as a reactive stream that respects
+     * backpressure. Each subscription executes the query when the first records are requested and fetches the records
+     * lazily from an open cursor only as they are requested, using {@link #getFetchSize()}.
+     * <p>
+     * The records are fetched on the given executor in a read-only transaction on a connection of the subscription, so
+     * the fetch size is honored by drivers that require a transaction. The cursor is closed and the connection is
+     * released when all records are emitted, when the subscription is cancelled, or when an error occurs. The executor
+     * must not run the subscription on a thread with an active transaction, e.g. a direct executor inside a
+     * {@code @Transactional} method, otherwise the subscriber receives an {@link IllegalStateException}.
+     *
+     * @param condition the condition to filter the records by
+     * @param orderBy   the list of fields to order the result set by
+     * @param executor  the executor to fetch and emit the records on outside any transaction, must not block on a
+     *                  small pool
+     * @return a Publisher of the fetched records
+     */
+    public Flow.Publisher<R> publish(Condition condition, List<OrderField<?>> orderBy, Executor executor) {
+        return new CursorPublisher<>(this::readContext, context -> context
+                .selectFrom(table)
+                .where(condition)
+                .orderBy(orderBy)
+                .fetchSize(fetchSize)
+                .fetchLazy(), executor);
+    }
+
+    /**
+     * Counts the total number of records in the associated table.
+     *
+     * @return the total number of records in the table
+     */
+    public int count() {
+        DAOObservation observation = observe(DAOOperation.COUNT);
+        try {
+            if (countCache != null) {
+                return observation.completed((int) cachedCount(DSL.noCondition()));
+            }
+            DSLContext context = readContext();
+            if (queryTemplates) {
+                String sql = templates.sql(QueryTemplates.Template.COUNT, context,
+                        () -> context.selectCount().from(table));
+                int count = context.resultQuery(sql).fetchOne(0, int.class);
+                return observation.completed(count);
+            }
+            return observation.completed(context.fetchCount(table));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Counts the number of records in the associated table that match the given condition.
+     *
+     * @param condition the condition to filter the records by
+     * @return the number of matching records
+     */
+    public int count(Condition condition) {
+        DAOObservation observation = observe(DAOOperation.COUNT);
+        try {
+            if (countCache != null) {
+                return observation.completed((int) cachedCount(condition));
+            }
+            return observation.completed(readContext().fetchCount(table, condition));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Counts the total number of records in the associated table. Unlike {@link #count()}, the result doesn't overflow
+     * for tables with more than {@link Integer#MAX_VALUE} records.
+     *
+     * @return the total number of records in the table
+     */
+    public long countLong() {
+        return countLong(DSL.noCondition());
+    }
+
+    /**
+     * Counts the number of records in the associated table that match the given condition. Unlike
+     * {@link #count(Condition)}, the result doesn't overflow for more than {@link Integer#MAX_VALUE} records.
+     *
+     * @param condition the condition to filter the records by
+     * @return the number of matching records
+     */
+    public long countLong(Condition condition) {
+        DAOObservation observation = observe(DAOOperation.COUNT);
+        try {
+            if (countCache != null) {
+                return observation.completed(cachedCount(condition));
+            }
+            return observation.completed(fetchCount(readContext(), condition));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Counts the number of records in the associated table that match the given condition.
+     *
+     * @param context   the DSLContext to read from
+     * @param condition the condition to filter the records by
+     * @return the number of matching records
+     */
+    private long fetchCount(DSLContext context, Condition condition) {
+        return context
+                .select(DSL.count().coerce(Long.class))
+                .from(table)
+                .where(condition)
+                .fetchSingle()
+                .value1();
+    }
+
+    /**
+     * Counts the number of records in the associated table that match the given condition using the count cache. The
+     * cache key is the rendered condition together with its bind values. The counts are always fetched from the primary,
+     * as a lagging replica would put outdated counts back into the cache after an invalidation.
+     *
+     * @param condition the condition to filter the records by
+     * @return the number of matching records
+     */
+    private long cachedCount(Condition condition) {
+        DAOCache<Object, Long> currentCountCache = countCache;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && PendingInvalidations.current(invalidationTarget, false) != null) {
+            return fetchCount(dslContext, condition);
+        }
+        Object key = List.of(dslContext.render(condition), dslContext.extractBindValues(condition));
+        Long cached = currentCountCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cacheGeneration.get();
+        long count = fetchCount(dslContext, condition);
+        if (generation == cacheGeneration.get()) {
+            currentCountCache.put(key, count);
+        }
+        return count;
+    }
+
+    /**
+     * Estimates the total number of records in the associated table using the {@link #getCountEstimator()}. By
+     * default, the statistics of the database are used where the dialect supports them, which is much faster than an
+     * exact count on large tables but may be outdated.
+     *
+     * @return the estimated number of records in the table
+     */
+    public long approximateCount() {
+        DAOObservation observation = observe(DAOOperation.APPROXIMATE_COUNT);
+        try {
+            return observation.completed(countEstimator.estimate(readContext(), table));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Checks whether any record in the associated table matches the given condition. In contrast to
+     * {@link #count(Condition)}, the database can stop at the first match.
+     *
+     * @param condition the condition to filter the records by
+     * @return true if at least one record matches
+     */
+    public boolean exists(Condition condition) {
+        DAOObservation observation = observe(DAOOperation.EXISTS);
+        try {
+            return observation.completed(readContext().fetchExists(table, condition));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Saves (INSERT or UPDATE) the given record to the database. Attaches the record to the
+     * DSLContext and stores it.
+     *
+     * @param record the record to save
+     * @return the number of affected rows
+     */
+    @Transactional
+    public int save(R record) {
+        DAOObservation observation = observe(DAOOperation.SAVE);
+        try {
+            dslContext.attach(record);
+            Set<Object> keys = cacheKeys(List.of(record));
+            int result = record.store();
+            evict(keys);
+            return observation.completed(result);
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Saves a list of records to the database using batch store operations. The records are split into batches of
+     * {@link #getBatchSize()} records as described in {@link #saveAll(List, int)}.
+     *
+     * @param records the list of records to be saved
+     * @return an array containing the number of affected rows for each record
+     */
+    @Transactional
+    public int[] saveAll(List<R> records) {
+        return saveAll(records, batchSize).rowCounts();
+    }
+
+    /**
+     * Saves a list of records to the database using batch store operations. The records are grouped by operation
+     * (INSERT or UPDATE) and by the set of changed fields, so that each JDBC batch consists of identical statements.
+     * Each group is split into batches of at most batchSize records. Records without changes are not updated.
+     * <p>
+     * Whether a record is inserted or updated is decided like {@link UpdatableRecord#store()} does with the default
+     * settings: records with a changed or missing primary key value are inserted.
+     *
+     * @param records   the list of records to be saved
+     * @param batchSize the maximum number of records per JDBC batch
+     * @return the summary of the batch operations
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    @Transactional
+    public BatchResult saveAll(List<R> records, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        DAOObservation observation = observe(DAOOperation.SAVE_ALL, batchSize);
+        try {
+            return observation.completed(storeAll(records, batchSize));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Saves a list of records to the database using batch store operations, see {@link #saveAll(List, int)}.
+     *
+     * @param records   the list of records to be saved
+     * @param batchSize the maximum number of records per JDBC batch
+     * @return the summary of the batch operations
+     */
+    private BatchResult storeAll(List<R> records, int batchSize) {
+        Set<Object> keys = cacheKeys(records);
+
+        Map<StoreGroup, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            R record = records.get(i);
+            groups.computeIfAbsent(new StoreGroup(isNew(record), changedFields(record)), group -> new ArrayList<>()).add(i);
+        }
+
+        int[] rowCounts = new int[records.size()];
+        int inserted = 0;
+        int updated = 0;
+        int batches = 0;
+        for (Map.Entry<StoreGroup, List<Integer>> group : groups.entrySet()) {
+            boolean insert = group.getKey().insert();
+            if (!insert && group.getKey().changedFields().isEmpty()) {
+                continue;
+            }
+            List<Integer> indexes = group.getValue();
+            for (int from = 0; from < indexes.size(); from += batchSize) {
+                List<Integer> batchIndexes = indexes.subList(from, Math.min(from + batchSize, indexes.size()));
+                List<R> batch = new ArrayList<>(batchIndexes.size());
+                for (int index : batchIndexes) {
+                    batch.add(records.get(index));
+                }
+                int[] batchRowCounts = dslContext.batchStore(batch).execute();
+                for (int i = 0; i < Math.min(batchRowCounts.length, batchIndexes.size()); i++) {
+                    rowCounts[batchIndexes.get(i)] = batchRowCounts[i];
+                }
+                batches++;
+                if (insert) {
+                    inserted += batch.size();
+                } else {
+                    updated += batch.size();
+                }
+            }
+        }
+
+        evict(keys);
+        return new BatchResult(inserted, updated, batches, rowCounts);
+    }
+
+    /**
+     * Inserts a list of new records into the database using multi-row INSERT statements, see
+     * {@link #insertAll(List, boolean)}. Generated keys are not returned.
+     *
+     * @param records the list of records to be inserted
+     * @return the summary of the operations
+     */
+    @Transactional
+    public BatchResult insertAll(List<R> records) {
+        return insertAll(records, false);
+    }
+
+    /**
+     * Inserts a list of new records into the database using multi-row INSERT … VALUES (…), (…) statements, which is
+     * considerably faster than a JDBC batch of single-row statements on most databases. The new records are grouped by
+     * the set of changed fields. Each statement contains at most {@link #getBatchSize()} rows and
+     * {@link #getMaxBindParameters()} bind values. New records without changed fields and records that are not new are
+     * saved with {@link #saveAll(List, int)}.
+     * <p>
+     * If generated keys are returned, the primary key and identity values are fetched with a RETURNING clause or its
+     * emulation and set on the records. This relies on the database returning the rows in insertion order.
+     *
+     * @param records             the list of records to be inserted
+     * @param returnGeneratedKeys true to set the generated keys on the inserted records
+     * @return the summary of the operations, the row counts of rows inserted by a multi-row statement are 1, or
+     * {@link java.sql.Statement#SUCCESS_NO_INFO} if the database reported a different number of rows for the statement
+     * @throws IllegalArgumentException if returnGeneratedKeys is true and the table does not have a primary key
+     */
+    @Transactional
+    public BatchResult insertAll(List<R> records, boolean returnGeneratedKeys) {
+        if (returnGeneratedKeys && primaryKeyFields == null) {
+            throw new IllegalArgumentException("Generated keys can only be returned for tables with a primary key");
+        }
+        DAOObservation observation = observe(DAOOperation.INSERT_ALL, batchSize);
+        try {
+            Map<BitSet, List<Integer>> groups = new LinkedHashMap<>();
+            List<Integer> others = new ArrayList<>();
+            for (int i = 0; i < records.size(); i++) {
+                R record = records.get(i);
+                BitSet changedFields = changedFields(record);
+                if (isNew(record) && !changedFields.isEmpty()) {
+                    // A multi-row INSERT needs at least one column, INSERT … DEFAULT VALUES inserts a single row
+                    groups.computeIfAbsent(changedFields, fields -> new ArrayList<>()).add(i);
+                } else {
+                    others.add(i);
+                }
+            }
+
+            int[] rowCounts = new int[records.size()];
+            int inserted = 0;
+            int updated = 0;
+            int batches = 0;
+            for (Map.Entry<BitSet, List<Integer>> group : groups.entrySet()) {
+                Field<?>[] fields = group.getKey().stream().mapToObj(table::field).toArray(Field<?>[]::new);
+                List<Integer> indexes = group.getValue();
+                int rowsPerStatement = Math.min(batchSize, Math.max(1, maxBindParameters / Math.max(1, fields.length)));
+                for (int from = 0; from < indexes.size(); from += rowsPerStatement) {
+                    List<Integer> rowIndexes = indexes.subList(from, Math.min(from + rowsPerStatement, indexes.size()));
+                    List<R> rows = new ArrayList<>(rowIndexes.size());
+                    for (int index : rowIndexes) {
+                        rows.add(records.get(index));
+                    }
+                    int rowCount = insertRows(fields, rows, returnGeneratedKeys);
+                    for (int index : rowIndexes) {
+                        rowCounts[index] = rowCount == rows.size() ? 1 : Statement.SUCCESS_NO_INFO;
+                    }
+                    inserted += rowCount;
+                    batches++;
+                }
+            }
+
+            if (!others.isEmpty()) {
+                List<R> otherRecords = new ArrayList<>(others.size());
+                for (int index : others) {
+                    otherRecords.add(records.get(index));
+                }
+                BatchResult result = storeAll(otherRecords, batchSize);
+                for (int i = 0; i < others.size(); i++) {
+                    rowCounts[others.get(i)] = result.rowCounts()[i];
+                }
+                inserted += result.inserted();
+                updated += result.updated();
+                batches += result.batches();
+            }
+            if (!groups.isEmpty()) {
+                evict(Set.of());
+            }
+            return observation.completed(new BatchResult(inserted, updated, batches, rowCounts));
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Inserts the given records with one multi-row INSERT statement and resets their changed flags.
+     *
+     * @param fields              the fields to insert
+     * @param rows                the records to insert
+     * @param returnGeneratedKeys true to set the generated keys on the inserted records
+     * @return the number of inserted rows as reported by the database
+     */
+    @SuppressWarnings("unchecked")
+    private int insertRows(Field<?>[] fields, List<R> rows, boolean returnGeneratedKeys) {
+        InsertValuesStepN<R> insert = insertValues(fields, rows);
+        int rowCount;
+        if (returnGeneratedKeys) {
+            Set<Field<?>> keyFields = new LinkedHashSet<>(Arrays.asList(primaryKeyFields));
+            if (table.getIdentity() != null) {
+                keyFields.add(table.getIdentity().getField());
+            }
+            Result<R> keys = insert.returning(keyFields).fetch();
+            rowCount = keys.size();
+            for (int i = 0; i < Math.min(keys.size(), rows.size()); i++) {
+                for (Field<?> keyField : keyFields) {
+                    rows.get(i).set((Field<Object>) keyField, keys.get(i).get(keyField));
+                }
+            }
+        } else {
+            rowCount = insert.execute();
+        }
+        for (R row : rows) {
+            dslContext.attach(row);
+            row.changed(false);
+        }
+        return rowCount;
+    }
+
+    /**
+     * Merges (INSERT … ON DUPLICATE KEY UPDATE) the given record into the database. Attaches the record to the DSLContext
+     * and attempts to merge it.
+     *
+     * @param record the record to merge
+     * @return the number of affected rows
+     */
+    @Transactional
+    public int merge(R record) {
+        DAOObservation observation = observe(DAOOperation.MERGE);
+        try {
+            dslContext.attach(record);
+            Set<Object> keys = cacheKeys(List.of(record));
+            int result = record.merge();
+            evict(keys);
+            return observation.completed(result);
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Merges (INSERT … ON CONFLICT DO UPDATE) a list of records into the database using the primary key to detect
+     * conflicts, see {@link #mergeAll(List, UniqueKey)}.
+     *
+     * @param records the list of records to merge
+     * @return the number of affected rows as reported by the database
+     */
+    @Transactional
+    public int mergeAll(List<R> records) {
+        return mergeAll(records, primaryKey);
+    }
+
+    /**
+     * Merges (INSERT … ON CONFLICT DO UPDATE) a list of records into the database using the given unique key to detect
+     * conflicts. The records are grouped by the set of changed fields and each group is merged with multi-row
+     * statements of at most {@link #getBatchSize()} rows and {@link #getMaxBindParameters()} bind values. On conflict,
+     * the changed fields that are neither part of the key nor of the primary key are updated, so the primary key of a
+     * conflicting row is never overwritten. The values of the key are always inserted, even if they are unchanged.
+     * Dialects without native support are emulated by jOOQ, e.g. with MERGE. Records without changes are skipped.
+     *
+     * @param records the list of records to merge
+     * @param key     the unique key used to detect conflicts
+     * @return the number of affected rows as reported by the database, some databases count updated rows twice
+     * @throws IllegalArgumentException if key is null
+     */
+    @Transactional
+    public int mergeAll(List<R> records, UniqueKey<R> key) {
+        if (key == null) {
+            throw new IllegalArgumentException("This method can only be called with a unique key");
+        }
+        DAOObservation observation = observe(DAOOperation.MERGE_ALL, batchSize);
+        try {
+            Set<Object> keys = cacheKeys(records);
+
+            Map<BitSet, List<R>> groups = new LinkedHashMap<>();
+            for (R record : records) {
+                BitSet changedFields = changedFields(record);
+                if (!changedFields.isEmpty()) {
+                    // Unchanged key values, e.g. of fetched records, are needed to detect the conflict
+                    for (Field<?> keyField : key.getFields()) {
+                        if (record.get(keyField) != null) {
+                            changedFields.set(table.indexOf(keyField));
+                        }
+                    }
+                    groups.computeIfAbsent(changedFields, fields -> new ArrayList<>()).add(record);
+                }
+            }
+
+            int affectedRows = 0;
+            for (Map.Entry<BitSet, List<R>> group : groups.entrySet()) {
+                Field<?>[] fields = group.getKey().stream().mapToObj(table::field).toArray(Field<?>[]::new);
+                Map<Field<?>, Field<?>> updates = new LinkedHashMap<>();
+                for (Field<?> field : fields) {
+                    if (!key.getFields().contains(field) && !isPrimaryKeyField(field)) {
+                        updates.put(field, DSL.excluded(field));
+                    }
+                }
+                List<R> groupRecords = group.getValue();
+                int rowsPerStatement = Math.min(batchSize, Math.max(1, maxBindParameters / fields.length));
+                for (int from = 0; from < groupRecords.size(); from += rowsPerStatement) {
+                    List<R> rows = groupRecords.subList(from, Math.min(from + rowsPerStatement, groupRecords.size()));
+                    InsertOnConflictDoUpdateStep<R> onConflict = insertValues(fields, rows).onConflict(key.getFields());
+                    affectedRows += updates.isEmpty()
+                            ? onConflict.doNothing().execute()
+                            : onConflict.doUpdate().set(updates).execute();
+                }
+                for (R record : groupRecords) {
+                    dslContext.attach(record);
+                    record.changed(false);
+                }
+            }
+
+            if (key.equals(primaryKey)) {
+                evict(keys);
+            } else {
+                // The updated rows may have other primary keys than the merged records
+                evictAll();
+            }
+            return observation.completed(affectedRows);
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Deletes the specified record from the database.
+     *
+     * @param record the record to delete
+     * @return the number of affected rows
+     */
+    @Transactional
+    public int delete(R record) {
+        DAOObservation observation = observe(DAOOperation.DELETE);
+        try {
+            dslContext.attach(record);
+            Set<Object> keys = cacheKeys(List.of(record));
+            int result = record.delete();
+            evict(keys);
+            return observation.completed(result);
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Deletes a record from the database identified by its primary key.
+     *
+     * @param id the primary key value of the record to delete
+     * @return the number of affected rows
+     * @throws IllegalArgumentException if the table does not have a primary key
+     */
+    @Transactional
+    public int deleteById(ID id) {
+        if (primaryKey == null) {
+            throw new IllegalArgumentException("This method can only be called on tables with a primary key");
+        }
+        DAOObservation observation = observe(DAOOperation.DELETE_BY_ID);
+        try {
+            int result;
+            if (queryTemplates) {
+                String sql = templates.sql(QueryTemplates.Template.DELETE_BY_ID, dslContext,
+                        () -> dslContext.deleteFrom(table).where(idCondition(id)));
+                result = dslContext.query(sql, idParams(id)).execute();
+            } else {
+                result = dslContext.deleteFrom(table)
+                        .where(idCondition(id))
+                        .execute();
+            }
+            evict(cache != null ? Set.of(idKey(id)) : Set.of());
+            return observation.completed(result);
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Deletes records from the database that match the given condition.
+     *
+     * @param condition the condition to filter which records to delete
+     * @return the number of affected rows
+     */
+    @Transactional
+    public int delete(Condition condition) {
+        DAOObservation observation = observe(DAOOperation.DELETE);
+        try {
+            int result = dslContext
+                    .deleteFrom(table)
+                    .where(condition).execute();
+            evictAll();
+            return observation.completed(result);
+        } catch (RuntimeException e) {
+            throw observation.failed(e);
+        }
+    }
+
+    /**
+     * Starts observing an operation of this DAO that doesn't use batches.
+     *
+     * @param operation the operation
+     * @return the observation, {@link DAOObservation#DISABLED} if there is no listener and no recording
+     */
+    private DAOObservation observe(DAOOperation operation) {
+        return DAOObservation.start(listener, table, operation, 0);
+    }
+
+    /**
+     * Starts observing a batch operation of this DAO.
+     *
+     * @param operation the operation
+     * @param batchSize the maximum number of records per statement or JDBC batch
+     * @return the observation, {@link DAOObservation#DISABLED} if there is no listener and no recording
+     */
+    private DAOObservation observe(DAOOperation operation, int batchSize) {
+        return DAOObservation.start(listener, table, operation, batchSize);
+    }
+
+    /**
+     * Generates a condition to be used in database queries to match a given primary key and its value.
+     * Inspired by {@link org.jooq.impl.DAOImpl}
+     * <p>
+     * Subclasses can override this method with a typed condition that doesn't resolve the primary key at runtime,
+     * like the DAOs generated by the jooq-spring-generator.
+     *
+     * @param id the value of the primary key to match
+     * @return a Condition used to match the specified primary key and its value
+     */
+    @SuppressWarnings("unchecked")
+    protected Condition idCondition(ID id) {
+        if (primaryKeyFields.length == 1) {
+            return ((Field<Object>) primaryKeyFields[0]).equal(id);
+        } else {
+            return row(primaryKeyFields).equal(keyValues(id));
+        }
+    }
+
+    /**
+     * Creates a multi-row INSERT statement with the values of the given fields of the records.
+     *
+     * @param fields the fields to insert
+     * @param rows   the records to insert
+     * @return the INSERT statement
+     */
+    private InsertValuesStepN<R> insertValues(Field<?>[] fields, List<R> rows) {
+        InsertValuesStepN<R> insert = dslContext.insertInto(table, fields);
+        for (R row : rows) {
+            Object[] values = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = row.get(fields[i]);
+            }
+            insert = insert.values(values);
+        }
+        return insert;
+    }
+
+    /**
+     * Returns whether {@link UpdatableRecord#store()} would insert the given record, i.e. whether a primary key value
+     * is changed or a non-nullable primary key value is missing.
+     *
+     * @param record the record
+     * @return true if the record is new
+     */
+    private boolean isNew(R record) {
+        for (TableField<R, ?> field : primaryKeyFields) {
+            if (record.changed(field) || (!field.getDataType().nullable() && record.get(field) == null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the indexes of the changed fields of the given record.
+     *
+     * @param record the record
+     * @return the indexes of the changed fields
+     */
+    private static BitSet changedFields(org.jooq.Record record) {
+        BitSet changedFields = new BitSet(record.size());
+        for (int i = 0; i < record.size(); i++) {
+            if (record.changed(i)) {
+                changedFields.set(i);
+            }
+        }
+        return changedFields;
+    }
+
+    /**
+     * Groups records that are stored with identical statements.
+     *
+     * @param insert        true for records that are inserted, false for records that are updated
+     * @param changedFields the indexes of the changed fields
+     */
+    private record StoreGroup(boolean insert, BitSet changedFields) {
+    }
+
+    /**
+     * Returns the field that is sorted by the given order field.
+     *
+     * @param orderField the order field
+     * @return the sorted field
+     * @throws IllegalArgumentException if the order field is neither a field nor a sort field
+     */
+    private static Field<?> sortField(OrderField<?> orderField) {
+        if (orderField instanceof SortField<?> sortField) {
+            return sortField.$field();
+        } else if (orderField instanceof Field<?> field) {
+            return field;
+        } else {
+            throw new IllegalArgumentException("Unsupported order field: " + orderField);
+        }
+    }
+
+    /**
+     * Generates a condition to be used in database queries to match any of the given primary key values. The number of
+     * values is limited by the callers according to {@link #getMaxBindParameters()}.
+     * <p>
+     * Subclasses can override this method with a typed condition that doesn't resolve the primary key at runtime,
+     * like the DAOs generated by the jooq-spring-generator.
+     *
+     * @param ids the values of the primary key to match
+     * @return a Condition used to match the specified primary key and its values
+     */
+    @SuppressWarnings("unchecked")
+    protected Condition idsCondition(Collection<ID> ids) {
+        if (primaryKeyFields.length == 1) {
+            return ((Field<Object>) primaryKeyFields[0]).in(ids);
+        } else {
+            List<RowN> rows = new ArrayList<>(ids.size());
+            for (ID id : ids) {
+                rows.add(row(keyValues(id)));
+            }
+            return row(primaryKeyFields).in(rows);
+        }
+    }
+
+    /**
+     * Creates the bind values of the given ID for the query templates, typed like the primary key fields.
+     *
+     * @param id the value of the primary key
+     * @return the bind values in the order of the primary key fields
+     */
+    private Param<?>[] idParams(ID id) {
+        if (primaryKeyFields.length == 1) {
+            return new Param<?>[]{DSL.val(id, primaryKeyFields[0])};
+        }
+        Object[] values = keyValues(id);
+        Param<?>[] params = new Param<?>[values.length];
+        for (int i = 0; i < values.length; i++) {
+            params[i] = DSL.val(values[i], primaryKeyFields[i]);
+        }
+        return params;
+    }
+
+    /**
+     * Extracts the values of a composite primary key from the given ID.
+     *
+     * @param id the value of the primary key
+     * @return the values of the primary key fields
+     */
+    private Object[] keyValues(ID id) {
+        Class<?> type = id.getClass();
+        KeyExtractor keyExtractor = type == idType && idKeyExtractor != null
+                ? idKeyExtractor
+                : keyExtractors.computeIfAbsent(type, t -> KeyExtractor.of(t, primaryKeyFields));
+        return keyExtractor.extract(id);
+    }
+
+    /**
+     * Returns a key with value semantics for the given ID that is equal to the {@link #recordKey(org.jooq.Record)} of
+     * the record with this ID. The key values are converted to the Java types of the primary key fields, so e.g. an
+     * Integer ID of a BIGINT column has the same key as the Long value of the record.
+     *
+     * @param id the value of the primary key
+     * @return the key
+     */
+    private Object idKey(ID id) {
+        TableField<R, ?>[] fields = primaryKeyFields;
+        if (fields.length == 1) {
+            return fields[0].getDataType().convert(id);
+        }
+        Object[] values = keyValues(id);
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = fields[i].getDataType().convert(values[i]);
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Returns a key with value semantics for the primary key of the given record.
+     *
+     * @param record the record
+     * @return the key
+     */
+    private Object recordKey(org.jooq.Record record) {
+        return recordKey(record, false);
+    }
+
+    /**
+     * Returns a key with value semantics for the current or the original primary key of the given record.
+     *
+     * @param record   the record
+     * @param original true to use the original values as fetched from the database
+     * @return the key
+     */
+    private Object recordKey(org.jooq.Record record, boolean original) {
+        TableField<R, ?>[] fields = primaryKeyFields;
+        if (fields.length == 1) {
+            return original ? record.original(fields[0]) : record.get(fields[0]);
+        }
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = original ? record.original(fields[i]) : record.get(fields[i]);
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Collects the cache keys of the current and the original primary keys of the given records. Must be called before
+     * the records are written, as writing resets the original values.
+     *
+     * @param records the records
+     * @return the cache keys, empty if caching is disabled
+     */
+    private Set<Object> cacheKeys(Collection<R> records) {
+        if (cache == null || primaryKey == null) {
+            return Set.of();
+        }
+        Set<Object> keys = new HashSet<>();
+        for (R record : records) {
+            keys.add(recordKey(record, false));
+            keys.add(recordKey(record, true));
+        }
+        keys.remove(null);
+        return keys;
+    }
+
+    /**
+     * Returns whether the given field is part of the primary key.
+     *
+     * @param field the field
+     * @return true if the table has a primary key containing the field
+     */
+    private boolean isPrimaryKeyField(Field<?> field) {
+        return primaryKeyFields != null && Arrays.asList(primaryKeyFields).contains(field);
+    }
+
+    /**
+     * Invalidates the cached records with the given keys and the cached counts. Must be called after the records are
+     * written. Inside a transaction, the invalidation is deferred until after the commit.
+     *
+     * @param keys the cache keys, may be empty if only the counts are affected
+     */
+    private void evict(Set<Object> keys) {
+        if (cache == null && countCache == null) {
+            return;
+        }
+        PendingInvalidations pending = PendingInvalidations.current(invalidationTarget, true);
+        if (pending != null) {
+            pending.add(keys);
+        } else {
+            invalidate(keys, false);
+        }
+    }
+
+    /**
+     * Invalidates all cached records and counts. Must be called after the records are written. Inside a transaction,
+     * the invalidation is deferred until after the commit.
+     */
+    private void evictAll() {
+        if (cache == null && countCache == null) {
+            return;
+        }
+        PendingInvalidations pending = PendingInvalidations.current(invalidationTarget, true);
+        if (pending != null) {
+            pending.addAll();
+        } else {
+            invalidate(Set.of(), true);
+        }
+    }
+
+    /**
+     * Invalidates the cached records and all cached counts immediately.
+     *
+     * @param keys the cache keys
+     * @param all  true to invalidate all cached records
+     */
+    private void invalidate(Set<Object> keys, boolean all) {
+        cacheGeneration.incrementAndGet();
+        DAOCache<Object, R> currentCache = cache;
+        if (currentCache != null) {
+            if (all) {
+                currentCache.invalidateAll();
+            } else {
+                keys.forEach(currentCache::invalidate);
+            }
+        }
+        DAOCache<Object, Long> currentCountCache = countCache;
+        if (currentCountCache != null) {
+            currentCountCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Copies the given record, so that the cached records cannot be modified by callers.
+     *
+     * @param record the record to copy
+     * @return an unchanged copy attached to the DSLContext
+     */
+    private R copy(R record) {
+        R copy = dslContext.newRecord(table, record);
+        copy.changed(false);
+        return copy;
+    }
+
+    /**
+     * Splits the given IDs into chunks that respect {@link #getMaxBindParameters()}.
+     *
+     * @param ids the values of the primary key
+     * @return the chunks
+     */
+    private List<List<ID>> chunks(List<ID> ids) {
+        int chunkSize = chunkSize();
+        List<List<ID>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            chunks.add(ids.subList(i, Math.min(i + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the maximum number of IDs per query that respects {@link #getMaxBindParameters()}.
+     *
+     * @return the chunk size
+     */
+    private int chunkSize() {
+        return Math.max(1, maxBindParameters / primaryKeyFields.length);
+    }
+
+    /**
+     * Pads the given IDs to the next power of two, but at most to the {@link #chunkSize()}, by repeating the last ID
+     * if IN list padding is enabled.
+     *
+     * @param ids the values of the primary key
+     * @return the padded IDs, or the given IDs if no padding is needed
+     */
+    private List<ID> padded(List<ID> ids) {
+        int size = ids.size();
+        if (!inListPadding || size < 2) {
+            return ids;
+        }
+        int paddedSize = Math.min(Integer.highestOneBit(size - 1) << 1, chunkSize());
+        if (paddedSize <= size) {
+            return ids;
+        }
+        List<ID> padded = new ArrayList<>(paddedSize);
+        padded.addAll(ids);
+        ID last = ids.get(size - 1);
+        while (padded.size() < paddedSize) {
+            padded.add(last);
         }
+        return padded;
     }
 
 }
@@ -0,0 +1,129 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Field;
+import org.jooq.Record;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Extracts the values of a composite primary key from an ID object.
+ * <p>
+ * An extractor is built once per ID class and maps the members of the ID class to the primary key fields by name,
+ * ignoring case and underscores (e.g. the record component {@code courseId} matches the column {@code COURSE_ID}).
+ * If no member matches any key field by name but the number of members equals the number of key fields, the declaration
+ * order is used. A partial match is rejected, as the remaining members cannot be mapped reliably.
+ * Supported ID types are Java records, plain classes with fields and jOOQ {@link Record}s.
+ */
+@FunctionalInterface
+interface KeyExtractor {
+
+    /**
+     * Extracts the key values in the order of the primary key fields.
+     *
+     * @param id the ID object
+     * @return the key values
+     */
+    Object[] extract(Object id);
+
+    /**
+     * Creates an extractor for the given ID class.
+     *
+     * @param idType the class of the ID objects
+     * @param fields the fields of the primary key
+     * @return the key extractor
+     * @throws IllegalArgumentException if the members of the ID class cannot be mapped to the primary key fields
+     */
+    static KeyExtractor of(Class<?> idType, Field<?>[] fields) {
+        if (Record.class.isAssignableFrom(idType)) {
+            return id -> {
+                Record record = (Record) id;
+                Object[] values = new Object[fields.length];
+                for (int i = 0; i < fields.length; i++) {
+                    values[i] = record.get(fields[i]);
+                }
+                return values;
+            };
+        }
+
+        List<String> names = new ArrayList<>();
+        List<MethodHandle> getters = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            if (idType.isRecord()) {
+                for (RecordComponent component : idType.getRecordComponents()) {
+                    names.add(component.getName());
+                    getters.add(lookup.unreflect(accessible(component.getAccessor())));
+                }
+            } else {
+                for (java.lang.reflect.Field field : idType.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                        names.add(field.getName());
+                        getters.add(lookup.unreflectGetter(accessible(field)));
+                    }
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access the members of the ID class " + idType.getName(), e);
+        }
+
+        int[] indexes = new int[fields.length];
+        boolean anyMatch = false;
+        for (int i = 0; i < fields.length; i++) {
+            indexes[i] = indexOf(names, fields[i].getName());
+            anyMatch |= indexes[i] != -1;
+        }
+        MethodHandle[] handles = new MethodHandle[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            int index = indexes[i];
+            if (index == -1) {
+                if (anyMatch || names.size() != fields.length) {
+                    throw new IllegalArgumentException("The ID class " + idType.getName()
+                                                       + " has no member matching the primary key field " + fields[i].getName());
+                }
+                index = i;
+            }
+            handles[i] = getters.get(index).asType(MethodType.methodType(Object.class, Object.class));
+        }
+
+        return id -> {
+            Object[] values = new Object[handles.length];
+            try {
+                for (int i = 0; i < handles.length; i++) {
+                    values[i] = (Object) handles[i].invokeExact(id);
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+            return values;
+        };
+    }
+
+    private static <A extends AccessibleObject> A accessible(A member) {
+        member.setAccessible(true);
+        return member;
+    }
+
+    private static int indexOf(List<String> names, String fieldName) {
+        String normalizedFieldName = normalize(fieldName);
+        for (int i = 0; i < names.size(); i++) {
+            if (normalize(names.get(i)).equals(normalizedFieldName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,26 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Record;
+
+import java.util.List;
+
+/**
+ * A page of records fetched with keyset pagination, also known as the seek method.
+ * <a href="https://www.jooq.org/doc/latest/manual/sql-building/sql-statements/select-statement/seek-clause/">SEEK clause</a>
+ *
+ * @param records the records of the page
+ * @param next    the sort values of the last record that are used to fetch the next page, or null if this is the
+ *                last page
+ * @param <R>     the type of the jOOQ Record
+ */
+public record KeysetPage<R extends Record>(List<R> records, Object[] next) {
+
+    /**
+     * Returns whether there is a next page.
+     *
+     * @return true if there are more records after this page
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
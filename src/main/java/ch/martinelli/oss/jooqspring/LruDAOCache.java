@@ -0,0 +1,121 @@
+package ch.martinelli.oss.jooqspring;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link DAOCache} that evicts the least recently used entry when the maximum size is reached. Optionally, entries
+ * expire after a fixed time to live.
+ * <p>
+ * Access is guarded by a {@link ReentrantLock}, so threads waiting for the cache don't pin virtual threads.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class LruDAOCache<K, V> implements DAOCache<K, V> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long timeToLiveNanos;
+    private final Map<K, Entry<V>> entries;
+
+    /**
+     * Constructs a new cache without expiration.
+     *
+     * @param maximumSize the maximum number of entries
+     * @throws IllegalArgumentException if maximumSize is not positive
+     */
+    public LruDAOCache(int maximumSize) {
+        this(maximumSize, null);
+    }
+
+    /**
+     * Constructs a new cache.
+     *
+     * @param maximumSize the maximum number of entries
+     * @param timeToLive  the time after which an entry expires, or null if entries don't expire
+     * @throws IllegalArgumentException if maximumSize or timeToLive is not positive
+     */
+    public LruDAOCache(int maximumSize, Duration timeToLive) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        this.timeToLiveNanos = timeToLive == null ? 0 : timeToLive.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (timeToLiveNanos > 0 && System.nanoTime() - entry.createdNanos > timeToLiveNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, timeToLiveNanos > 0 ? System.nanoTime() : 0);
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of entries, including expired entries that have not been removed yet.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry<V>(V value, long createdNanos) {
+    }
+}
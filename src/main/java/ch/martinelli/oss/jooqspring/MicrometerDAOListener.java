@@ -0,0 +1,110 @@
+package ch.martinelli.oss.jooqspring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jooq.Table;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link DAOListener} that records the operations of a {@link JooqDAO} with Micrometer. Requires
+ * {@code io.micrometer:micrometer-core} on the classpath.
+ * <p>
+ * For every table and operation, it records a timer {@code <name>} with a percentile histogram and a distribution
+ * summary {@code <name>.rows} of the fetched or affected rows. Both are tagged with {@code table}, {@code method} and
+ * {@code type} (read or write). Failed operations are recorded with the timer only, tagged with
+ * {@code outcome=failure} and the {@code exception} class.
+ */
+public class MicrometerDAOListener implements DAOListener {
+
+    /**
+     * The default name of the recorded meters.
+     */
+    public static final String DEFAULT_NAME = "jooq.dao";
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final Map<Key, Meters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new listener that records the meters with the {@link #DEFAULT_NAME}.
+     *
+     * @param registry the registry to record the meters with
+     */
+    public MicrometerDAOListener(MeterRegistry registry) {
+        this(registry, DEFAULT_NAME);
+    }
+
+    /**
+     * Constructs a new listener.
+     *
+     * @param registry the registry to record the meters with
+     * @param name     the name of the recorded meters
+     * @throws IllegalArgumentException if registry or name is null
+     */
+    public MicrometerDAOListener(MeterRegistry registry, String name) {
+        if (registry == null || name == null) {
+            throw new IllegalArgumentException("registry and name must not be null");
+        }
+        this.registry = registry;
+        this.name = name;
+    }
+
+    @Override
+    public void operationCompleted(Table<?> table, DAOOperation operation, long durationNanos, int rows) {
+        Meters tableMeters = meters.computeIfAbsent(new Key(table.getName(), operation), this::register);
+        tableMeters.timer().record(durationNanos, TimeUnit.NANOSECONDS);
+        tableMeters.rows().record(rows);
+    }
+
+    @Override
+    public void operationFailed(Table<?> table, DAOOperation operation, long durationNanos, RuntimeException exception) {
+        Timer.builder(name)
+                .tags(tags(table.getName(), operation))
+                .tag("outcome", "failure")
+                .tag("exception", exception.getClass().getSimpleName())
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registers the meters of successful operations.
+     *
+     * @param key the table and the operation
+     * @return the meters
+     */
+    private Meters register(Key key) {
+        String[] tags = tags(key.table(), key.operation());
+        Timer timer = Timer.builder(name)
+                .description("Duration of the DAO operations")
+                .tags(tags)
+                .tag("outcome", "success")
+                .tag("exception", "none")
+                .publishPercentileHistogram()
+                .register(registry);
+        DistributionSummary rows = DistributionSummary.builder(name + ".rows")
+                .description("Number of rows fetched or affected by the DAO operations")
+                .baseUnit("rows")
+                .tags(tags)
+                .register(registry);
+        return new Meters(timer, rows);
+    }
+
+    private static String[] tags(String table, DAOOperation operation) {
+        return new String[]{
+                "table", table,
+                "method", operation.name().toLowerCase(Locale.ROOT),
+                "type", operation.isWrite() ? "write" : "read"
+        };
+    }
+
+    private record Key(String table, DAOOperation operation) {
+    }
+
+    private record Meters(Timer timer, DistributionSummary rows) {
+    }
+}
@@ -0,0 +1,26 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Record;
+
+import java.util.List;
+
+/**
+ * A page of records fetched with offset-based pagination together with the total number of matching records.
+ *
+ * @param records the records of the page
+ * @param offset  the position of the first record
+ * @param limit   the maximum number of records of the page
+ * @param total   the total number of matching records
+ * @param <R>     the type of the jOOQ Record
+ */
+public record Page<R extends Record>(List<R> records, int offset, int limit, long total) {
+
+    /**
+     * Returns whether there are more records after this page.
+     *
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return offset + records.size() < total;
+    }
+}
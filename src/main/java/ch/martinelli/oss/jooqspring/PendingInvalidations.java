@@ -0,0 +1,99 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Collects the cache invalidations of a {@link JooqDAO} during a transaction and applies them after the commit.
+ * If the transaction is rolled back, the invalidations are discarded and the cache remains untouched.
+ * <p>
+ * An instance is registered as a {@link TransactionSynchronization}, so it is bound to the current transaction and
+ * suspended together with it.
+ */
+final class PendingInvalidations implements TransactionSynchronization {
+
+    /**
+     * Applies the invalidations after the commit.
+     */
+    @FunctionalInterface
+    interface Target {
+
+        /**
+         * Applies the invalidations.
+         *
+         * @param keys the keys to invalidate
+         * @param all  true if all entries must be invalidated
+         */
+        void invalidate(Set<Object> keys, boolean all);
+    }
+
+    private final Target target;
+    private final Set<Object> keys = new HashSet<>();
+    private boolean all;
+
+    private PendingInvalidations(Target target) {
+        this.target = target;
+    }
+
+    /**
+     * Returns the pending invalidations of the given target in the current transaction.
+     *
+     * @param target the target of the invalidations
+     * @param create true to create and register the pending invalidations if there are none yet
+     * @return the pending invalidations, or null if there is no transaction synchronization or create is false and
+     * there are no pending invalidations
+     */
+    static PendingInvalidations current(Target target, boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidations pending && pending.target == target) {
+                return pending;
+            }
+        }
+        if (!create) {
+            return null;
+        }
+        PendingInvalidations pending = new PendingInvalidations(target);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    /**
+     * Adds keys to invalidate after the commit.
+     *
+     * @param keys the keys
+     */
+    void add(Set<Object> keys) {
+        if (!all) {
+            this.keys.addAll(keys);
+        }
+    }
+
+    /**
+     * Invalidates all entries after the commit.
+     */
+    void addAll() {
+        all = true;
+        keys.clear();
+    }
+
+    /**
+     * Returns whether the entry with the given key will be invalidated after the commit.
+     *
+     * @param key the key
+     * @return true if the entry is affected by a pending invalidation
+     */
+    boolean affects(Object key) {
+        return all || keys.contains(key);
+    }
+
+    @Override
+    public void afterCommit() {
+        target.invalidate(keys, all);
+    }
+}
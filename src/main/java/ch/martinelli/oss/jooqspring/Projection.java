@@ -0,0 +1,128 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Configuration;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.RecordType;
+import org.jooq.Table;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The columns of a table that are fetched for a projection class, e.g. a Java record or a DTO, together with the
+ * mapper into the projection class.
+ * <p>
+ * A projection is built once per projection class and maps the members of the class to the fields of the table by
+ * name, ignoring case and underscores (e.g. the record component {@code firstName} matches the column
+ * {@code FIRST_NAME}). Only the matching fields are selected, so the members of a DTO without a matching field keep
+ * their default value. As Java records are constructed with all components, every component of a record must match
+ * a field. The mapper is provided by the
+ * {@link org.jooq.RecordMapperProvider} of the configuration on the first fetch and reused afterwards.
+ *
+ * @param <P> the type of the projection class
+ */
+final class Projection<P> {
+
+    private final Class<P> type;
+    private final Field<?>[] fields;
+    private volatile RecordMapper<Record, P> mapper;
+
+    private Projection(Class<P> type, Field<?>[] fields) {
+        this.type = type;
+        this.fields = fields;
+    }
+
+    /**
+     * Creates the projection of the given class on the given table.
+     *
+     * @param type  the projection class
+     * @param table the table
+     * @param <P>   the type of the projection class
+     * @return the projection
+     * @throws IllegalArgumentException if no member of the projection class matches a field of the table, or if the
+     *                                  projection class is a record with a component that matches no field
+     */
+    static <P> Projection<P> of(Class<P> type, Table<?> table) {
+        List<Field<?>> fields = new ArrayList<>();
+        List<String> unmatchedNames = new ArrayList<>();
+        for (String name : memberNames(type)) {
+            Field<?> field = field(table, name);
+            if (field != null) {
+                fields.add(field);
+            } else {
+                unmatchedNames.add(name);
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("The class " + type.getName()
+                                               + " has no member matching a field of the table " + table.getName());
+        }
+        if (type.isRecord() && !unmatchedNames.isEmpty()) {
+            throw new IllegalArgumentException("The components " + unmatchedNames + " of the record " + type.getName()
+                                               + " match no field of the table " + table.getName());
+        }
+        return new Projection<>(type, fields.toArray(new Field<?>[0]));
+    }
+
+    /**
+     * Returns the fields to select in the order of the members of the projection class.
+     *
+     * @return the fields
+     */
+    Field<?>[] fields() {
+        return fields;
+    }
+
+    /**
+     * Returns the mapper into the projection class, provided by the configuration on the first call.
+     *
+     * @param recordType    the type of the fetched records
+     * @param configuration the configuration providing the mapper
+     * @return the mapper
+     */
+    RecordMapper<Record, P> mapper(RecordType<Record> recordType, Configuration configuration) {
+        RecordMapper<Record, P> current = mapper;
+        if (current == null) {
+            current = configuration.recordMapperProvider().provide(recordType, type);
+            mapper = current;
+        }
+        return current;
+    }
+
+    private static List<String> memberNames(Class<?> type) {
+        List<String> names = new ArrayList<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                names.add(component.getName());
+            }
+        } else {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (java.lang.reflect.Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                        names.add(field.getName());
+                    }
+                }
+            }
+        }
+        return names;
+    }
+
+    private static Field<?> field(Table<?> table, String memberName) {
+        String normalizedName = normalize(memberName);
+        for (Field<?> field : table.fields()) {
+            if (normalize(field.getName()).equals(normalizedName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,61 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.jooq.conf.ParamType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the rendered SQL of the fixed-shape queries of a {@link JooqDAO}, so that each query is rendered once per
+ * configuration and later calls only bind new values.
+ * <p>
+ * The SQL is cached per {@link Configuration}, as the dialect and the render settings of the primary and the read
+ * replicas may differ. As the SQL strings are stable, the statement cache of the JDBC driver or the connection pool
+ * can reuse the prepared statements.
+ */
+final class QueryTemplates {
+
+    /**
+     * The fixed-shape queries.
+     */
+    enum Template {
+        FIND_BY_ID,
+        EXISTS_BY_ID,
+        DELETE_BY_ID,
+        COUNT
+    }
+
+    private static final int TEMPLATES = Template.values().length;
+
+    private final Map<Configuration, String[]> sql = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the SQL of the given template for the configuration of the given DSLContext, rendering it on the first
+     * call. The bind values are rendered as indexed parameters, regardless of the settings.
+     *
+     * @param template   the template
+     * @param dslContext the DSLContext that executes the query
+     * @param query      creates the query to render, only called on the first call
+     * @return the SQL with indexed parameters
+     */
+    String sql(Template template, DSLContext dslContext, Supplier<? extends Query> query) {
+        String[] rendered = sql.computeIfAbsent(dslContext.configuration(), configuration -> new String[TEMPLATES]);
+        String result = rendered[template.ordinal()];
+        if (result == null) {
+            result = query.get().getSQL(ParamType.INDEXED);
+            rendered[template.ordinal()] = result;
+        }
+        return result;
+    }
+
+    /**
+     * Removes all rendered SQL, e.g. after the settings of a configuration changed.
+     */
+    void clear() {
+        sql.clear();
+    }
+}
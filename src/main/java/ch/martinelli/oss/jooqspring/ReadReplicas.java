@@ -0,0 +1,151 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.impl.DSL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A set of read replicas used by {@link JooqDAO} for read-only operations, see {@link JooqDAO#setReadReplicas}.
+ * <p>
+ * Each replica is a {@link DSLContext} with its own connection provider, usually backed by its own DataSource.
+ */
+public final class ReadReplicas {
+
+    /**
+     * The strategy to select a replica for a query.
+     */
+    public enum Strategy {
+        /**
+         * Uses the replicas one after the other.
+         */
+        ROUND_ROBIN,
+        /**
+         * Prefers the replicas with the lowest average query latency. The latency is tracked as an exponentially
+         * weighted moving average of the execution time of the queries sent to the replica. Each query goes to one of
+         * the two fastest replicas, chosen randomly with a probability inversely proportional to their latency, so the
+         * slower one keeps receiving some queries and its average stays up to date.
+         */
+        LEAST_LATENCY
+    }
+
+    private static final String START_NANOS = ReadReplicas.class.getName() + ".startNanos";
+
+    private final Strategy strategy;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ReadReplicas(Strategy strategy, List<DSLContext> replicas) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.strategy = strategy;
+        for (DSLContext replica : replicas) {
+            this.replicas.add(new Replica(replica, strategy));
+        }
+    }
+
+    /**
+     * Creates read replicas that are used one after the other.
+     *
+     * @param replicas the DSLContexts of the replicas
+     * @return the read replicas
+     * @throws IllegalArgumentException if no replica is given
+     */
+    public static ReadReplicas roundRobin(DSLContext... replicas) {
+        return new ReadReplicas(Strategy.ROUND_ROBIN, List.of(replicas));
+    }
+
+    /**
+     * Creates read replicas that are selected by the lowest average query latency.
+     *
+     * @param replicas the DSLContexts of the replicas
+     * @return the read replicas
+     * @throws IllegalArgumentException if no replica is given
+     */
+    public static ReadReplicas leastLatency(DSLContext... replicas) {
+        return new ReadReplicas(Strategy.LEAST_LATENCY, List.of(replicas));
+    }
+
+    /**
+     * Returns the selection strategy.
+     *
+     * @return the strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Selects the replica for the next query.
+     *
+     * @return the DSLContext of the selected replica
+     */
+    DSLContext select() {
+        if (replicas.size() == 1) {
+            return replicas.get(0).dslContext;
+        }
+        if (strategy == Strategy.ROUND_ROBIN) {
+            return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size())).dslContext;
+        }
+        Replica fastest = null;
+        Replica secondFastest = null;
+        long fastestNanos = Long.MAX_VALUE;
+        long secondFastestNanos = Long.MAX_VALUE;
+        for (Replica replica : replicas) {
+            long nanos = replica.averageNanos.get();
+            if (fastest == null || nanos < fastestNanos) {
+                secondFastest = fastest;
+                secondFastestNanos = fastestNanos;
+                fastest = replica;
+                fastestNanos = nanos;
+            } else if (secondFastest == null || nanos < secondFastestNanos) {
+                secondFastest = replica;
+                secondFastestNanos = nanos;
+            }
+        }
+        if (fastestNanos == 0) {
+            // Not measured yet
+            return fastest.dslContext;
+        }
+        long total = fastestNanos + secondFastestNanos;
+        if (total < 0 || ThreadLocalRandom.current().nextLong(total) < secondFastestNanos) {
+            return fastest.dslContext;
+        }
+        return secondFastest.dslContext;
+    }
+
+    /**
+     * A replica together with its average query latency.
+     */
+    private static final class Replica implements ExecuteListener {
+
+        private final DSLContext dslContext;
+        private final AtomicLong averageNanos = new AtomicLong();
+
+        private Replica(DSLContext dslContext, Strategy strategy) {
+            this.dslContext = strategy == Strategy.LEAST_LATENCY
+                    ? DSL.using(dslContext.configuration().deriveAppending(this))
+                    : dslContext;
+        }
+
+        @Override
+        public void executeStart(ExecuteContext ctx) {
+            ctx.data(START_NANOS, System.nanoTime());
+        }
+
+        @Override
+        public void executeEnd(ExecuteContext ctx) {
+            if (ctx.data(START_NANOS) instanceof Long startNanos) {
+                long nanos = System.nanoTime() - startNanos;
+                averageNanos.updateAndGet(average -> average == 0 ? nanos : average - (average >> 3) + (nanos >> 3));
+            }
+        }
+    }
+}
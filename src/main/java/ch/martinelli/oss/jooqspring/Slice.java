@@ -0,0 +1,17 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Record;
+
+import java.util.List;
+
+/**
+ * A slice of records fetched with offset-based pagination that knows whether there are more records, but not how many.
+ *
+ * @param records the records of the slice
+ * @param offset  the position of the first record
+ * @param limit   the maximum number of records of the slice
+ * @param hasNext true if there are more records after this slice
+ * @param <R>     the type of the jOOQ Record
+ */
+public record Slice<R extends Record>(List<R> records, int offset, int limit, boolean hasNext) {
+}
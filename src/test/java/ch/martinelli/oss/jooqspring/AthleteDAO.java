@@ -0,0 +1,12 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.DSLContext;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+
+class AthleteDAO extends JooqDAO<AthleteTable, AthleteRecord, Long> {
+
+    AthleteDAO(DSLContext dslContext) {
+        super(dslContext, ATHLETE);
+    }
+}
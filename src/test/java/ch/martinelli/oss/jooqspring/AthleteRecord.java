@@ -0,0 +1,27 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.impl.UpdatableRecordImpl;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+
+/**
+ * A record of the table {@code ATHLETE}.
+ */
+final class AthleteRecord extends UpdatableRecordImpl<AthleteRecord> {
+
+    AthleteRecord() {
+        super(ATHLETE);
+    }
+
+    Long getId() {
+        return get(ATHLETE.ID);
+    }
+
+    String getName() {
+        return get(ATHLETE.NAME);
+    }
+
+    void setName(String name) {
+        set(ATHLETE.NAME, name);
+    }
+}
@@ -0,0 +1,56 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Identity;
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.Internal;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+/**
+ * The table {@code ATHLETE} of the test database, written like a table generated by jOOQ.
+ */
+final class AthleteTable extends TableImpl<AthleteRecord> {
+
+    static final AthleteTable ATHLETE = new AthleteTable(true);
+
+    /**
+     * The same table without a primary key, like a view.
+     */
+    static final AthleteTable ATHLETE_WITHOUT_PRIMARY_KEY = new AthleteTable(false);
+
+    final TableField<AthleteRecord, Long> ID = createField(DSL.name("ID"),
+            SQLDataType.BIGINT.nullable(false).identity(true), this, "");
+    final TableField<AthleteRecord, String> NAME = createField(DSL.name("NAME"),
+            SQLDataType.VARCHAR(100).nullable(false), this, "");
+
+    /**
+     * A unique key on {@code NAME}, only backed by a constraint in tests that create it.
+     */
+    final UniqueKey<AthleteRecord> UK_NAME = Internal.createUniqueKey(this, DSL.name("UK_ATHLETE_NAME"),
+            new TableField[]{NAME}, true);
+
+    private final boolean primaryKey;
+
+    private AthleteTable(boolean primaryKey) {
+        super(DSL.name("ATHLETE"));
+        this.primaryKey = primaryKey;
+    }
+
+    @Override
+    public Class<AthleteRecord> getRecordType() {
+        return AthleteRecord.class;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Identity<AthleteRecord, Long> getIdentity() {
+        return (Identity<AthleteRecord, Long>) super.getIdentity();
+    }
+
+    @Override
+    public UniqueKey<AthleteRecord> getPrimaryKey() {
+        return primaryKey ? Internal.createUniqueKey(this, DSL.name("PK_ATHLETE"), new TableField[]{ID}, true) : null;
+    }
+}
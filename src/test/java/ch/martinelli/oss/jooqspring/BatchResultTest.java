@@ -0,0 +1,28 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchResultTest {
+
+    @Test
+    void equalsComparesRowCountsByContent() {
+        BatchResult result = new BatchResult(1, 1, 2, new int[]{1, 1});
+
+        assertThat(result).isEqualTo(new BatchResult(1, 1, 2, new int[]{1, 1}))
+                .hasSameHashCodeAs(new BatchResult(1, 1, 2, new int[]{1, 1}))
+                .isNotEqualTo(new BatchResult(1, 1, 2, new int[]{1, 0}));
+    }
+
+    @Test
+    void toStringPrintsRowCounts() {
+        assertThat(new BatchResult(2, 0, 1, new int[]{1, 1}))
+                .hasToString("BatchResult[inserted=2, updated=0, batches=1, rowCounts=[1, 1]]");
+    }
+
+    @Test
+    void affectedRowsIgnoresUnknownRowCounts() {
+        assertThat(new BatchResult(3, 0, 1, new int[]{1, -2, 1}).affectedRows()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,52 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CountEstimatorTest {
+
+    private DSLContext dslContext;
+    private AthleteDAO athleteDAO;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase database = new TestDatabase();
+        for (int i = 0; i < 3; i++) {
+            database.insert("Athlete " + i);
+        }
+        dslContext = database.dslContext();
+        athleteDAO = new AthleteDAO(dslContext);
+    }
+
+    @Test
+    void statisticsFallBackToExactCountOnH2() {
+        assertThat(CountEstimator.statistics().estimate(dslContext, ATHLETE)).isEqualTo(3);
+    }
+
+    @Test
+    void approximateCountUsesStatisticsByDefault() {
+        assertThat(athleteDAO.approximateCount()).isEqualTo(3);
+    }
+
+    @Test
+    void exactCountsAllRecords() {
+        assertThat(CountEstimator.exact().estimate(dslContext, ATHLETE)).isEqualTo(3);
+    }
+
+    @Test
+    void approximateCountUsesCustomEstimator() {
+        athleteDAO.setCountEstimator((context, table) -> 42);
+
+        assertThat(athleteDAO.approximateCount()).isEqualTo(42);
+    }
+
+    @Test
+    void estimatorMustNotBeNull() {
+        assertThatIllegalArgumentException().isThrownBy(() -> athleteDAO.setCountEstimator(null));
+    }
+}
@@ -0,0 +1,159 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPublisherTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final List<Boolean> autoCommit = new ArrayList<>();
+    private TestDatabase database;
+    private AthleteDAO athleteDAO;
+    private int sessions;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        for (int i = 1; i <= 10; i++) {
+            database.insert("Athlete " + i);
+        }
+        athleteDAO = new AthleteDAO(database.dslContext(new ExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                try {
+                    autoCommit.add(ctx.connection().getAutoCommit());
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }));
+        sessions = database.sessions();
+    }
+
+    @Test
+    void emitsRecordsOnDemand() {
+        RecordingSubscriber subscriber = subscribe();
+
+        subscriber.subscription.request(3);
+
+        assertThat(subscriber.names).containsExactly("Athlete 1", "Athlete 2", "Athlete 3");
+        assertThat(subscriber.completed).isFalse();
+        // The cursor runs in a transaction, so the driver can honor the fetch size
+        assertThat(autoCommit).containsExactly(false);
+        assertThat(database.sessions()).isEqualTo(sessions + 1);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.names).hasSize(10);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(database.sessions()).isEqualTo(sessions);
+    }
+
+    @Test
+    void doesNotQueryBeforeRequest() {
+        subscribe();
+
+        assertThat(autoCommit).isEmpty();
+    }
+
+    @Test
+    void cancelClosesCursor() {
+        RecordingSubscriber subscriber = subscribe();
+        subscriber.subscription.request(2);
+        assertThat(database.sessions()).isEqualTo(sessions + 1);
+
+        subscriber.subscription.cancel();
+
+        assertThat(database.sessions()).isEqualTo(sessions);
+        subscriber.subscription.request(5);
+        assertThat(subscriber.names).hasSize(2);
+        assertThat(subscriber.completed).isFalse();
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    void invalidRequestSignalsError() {
+        RecordingSubscriber subscriber = subscribe();
+        subscriber.subscription.request(2);
+
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(database.sessions()).isEqualTo(sessions);
+    }
+
+    @Test
+    void queryErrorReleasesConnection() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        athleteDAO.publish(DSL.condition("no_such_column = 1"), List.of(ATHLETE.ID), DIRECT).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.error).isNotNull();
+        assertThat(database.sessions()).isEqualTo(sessions);
+    }
+
+    @Test
+    void fetchingInsideTransactionIsRejected() {
+        RecordingSubscriber subscriber = subscribe();
+
+        database.transactionTemplate().executeWithoutResult(status -> {
+            database.insert("Athlete 11");
+            subscriber.subscription.request(Long.MAX_VALUE);
+            status.setRollbackOnly();
+        });
+
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+        assertThat(subscriber.names).isEmpty();
+        // The transaction was not committed by the publisher
+        assertThat(database.dslContext().fetchCount(ATHLETE)).isEqualTo(10);
+        assertThat(database.sessions()).isEqualTo(sessions);
+    }
+
+    private RecordingSubscriber subscribe() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        athleteDAO.publish(DSL.noCondition(), List.of(ATHLETE.ID), DIRECT).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<AthleteRecord> {
+
+        private final List<String> names = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(AthleteRecord item) {
+            names.add(item.getName());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ch.martinelli.oss.jooqspring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class DAOEventTest {
+
+    @TempDir
+    Path directory;
+
+    private AthleteDAO athleteDAO;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase database = new TestDatabase();
+        database.insert("Simon");
+        database.insert("Peter");
+        athleteDAO = new AthleteDAO(database.dslContext());
+    }
+
+    @Test
+    void operationsAreRecorded() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            athleteDAO.findAll(ATHLETE.NAME.isNotNull());
+            athleteDAO.saveAll(List.of(athlete("Paul"), athlete("Mary")), 10);
+        });
+
+        assertThat(events).hasSize(2);
+        RecordedEvent findAll = events.get(0);
+        assertThat(findAll.getString("table")).isEqualTo("ATHLETE");
+        assertThat(findAll.getString("operation")).isEqualTo("FIND_ALL");
+        assertThat(findAll.getInt("rows")).isEqualTo(2);
+        assertThat(findAll.getInt("batchSize")).isZero();
+        assertThat(findAll.getString("exception")).isNull();
+        assertThat(findAll.getDuration()).isPositive();
+        RecordedEvent saveAll = events.get(1);
+        assertThat(saveAll.getString("operation")).isEqualTo("SAVE_ALL");
+        assertThat(saveAll.getInt("rows")).isEqualTo(2);
+        assertThat(saveAll.getInt("batchSize")).isEqualTo(10);
+    }
+
+    @Test
+    void failuresAreRecordedWithException() throws IOException {
+        List<RecordedEvent> events = record(() -> assertThatExceptionOfType(DataAccessException.class)
+                .isThrownBy(() -> athleteDAO.save(new AthleteRecord())));
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("operation")).isEqualTo("SAVE");
+            assertThat(event.getInt("rows")).isZero();
+            assertThat(event.getString("exception")).startsWith("org.jooq.exception.");
+        });
+    }
+
+    @Test
+    void observationIsDisabledWithoutRecording() {
+        assertThat(DAOEvent.TYPE.isEnabled()).isFalse();
+        assertThat(DAOObservation.start(null, ATHLETE, DAOOperation.FIND_ALL, 0)).isSameAs(DAOObservation.DISABLED);
+    }
+
+    private List<RecordedEvent> record(Runnable operations) throws IOException {
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DAOEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            operations.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(DAOEvent.NAME))
+                .toList();
+    }
+
+    private static AthleteRecord athlete(String name) {
+        AthleteRecord athlete = new AthleteRecord();
+        athlete.setName(name);
+        return athlete;
+    }
+}
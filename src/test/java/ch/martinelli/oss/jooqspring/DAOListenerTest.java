@@ -0,0 +1,116 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DAOListenerTest {
+
+    private final List<Operation> operations = new ArrayList<>();
+    private TestDatabase database;
+    private AthleteDAO athleteDAO;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        database.insert("Simon");
+        database.insert("Peter");
+        database.insert("Paul");
+        athleteDAO = new AthleteDAO(database.dslContext());
+        athleteDAO.setListener(new DAOListener() {
+            @Override
+            public void operationCompleted(Table<?> table, DAOOperation operation, long durationNanos, int rows) {
+                operations.add(new Operation(table, operation, durationNanos, rows, null));
+            }
+
+            @Override
+            public void operationFailed(Table<?> table, DAOOperation operation, long durationNanos,
+                                        RuntimeException exception) {
+                operations.add(new Operation(table, operation, durationNanos, 0, exception));
+            }
+        });
+    }
+
+    @Test
+    void readsReportFetchedRows() {
+        athleteDAO.findById(1L);
+        athleteDAO.findById(4L);
+        athleteDAO.findAllById(List.of(1L, 2L, 4L));
+        athleteDAO.findAll(ATHLETE.NAME.startsWith("P"));
+        athleteDAO.findPage(ATHLETE.NAME.isNotNull(), 0, 2, List.of(ATHLETE.ID));
+        athleteDAO.forEach(ATHLETE.NAME.isNotNull(), athlete -> {
+        });
+
+        assertThat(operations).extracting(Operation::operation, Operation::rows).containsExactly(
+                tuple(DAOOperation.FIND_BY_ID, 1),
+                tuple(DAOOperation.FIND_BY_ID, 0),
+                tuple(DAOOperation.FIND_ALL_BY_ID, 2),
+                tuple(DAOOperation.FIND_ALL, 2),
+                tuple(DAOOperation.FIND_PAGE, 2),
+                tuple(DAOOperation.FOR_EACH, 3));
+        assertThat(operations).extracting(Operation::table).containsOnly(ATHLETE);
+        assertThat(operations).allSatisfy(operation -> assertThat(operation.durationNanos()).isPositive());
+    }
+
+    @Test
+    void countsAndExistenceChecksReportOneRow() {
+        athleteDAO.count();
+        athleteDAO.countLong(ATHLETE.NAME.eq("Nobody"));
+        athleteDAO.existsById(4L);
+        athleteDAO.exists(ATHLETE.NAME.eq("Simon"));
+
+        assertThat(operations).extracting(Operation::operation, Operation::rows).containsExactly(
+                tuple(DAOOperation.COUNT, 1),
+                tuple(DAOOperation.COUNT, 1),
+                tuple(DAOOperation.EXISTS_BY_ID, 1),
+                tuple(DAOOperation.EXISTS, 1));
+    }
+
+    @Test
+    void writesReportAffectedRows() {
+        AthleteRecord athlete = new AthleteRecord();
+        athlete.setName("Mary");
+        athleteDAO.save(athlete);
+        athleteDAO.deleteById(5L);
+        athleteDAO.delete(ATHLETE.NAME.startsWith("P"));
+        athleteDAO.insertAll(List.of(newAthlete("Anna"), newAthlete("Lisa")));
+
+        assertThat(operations).extracting(Operation::operation, Operation::rows).containsExactly(
+                tuple(DAOOperation.SAVE, 1),
+                tuple(DAOOperation.DELETE_BY_ID, 0),
+                tuple(DAOOperation.DELETE, 2),
+                tuple(DAOOperation.INSERT_ALL, 2));
+    }
+
+    @Test
+    void failuresAreReported() {
+        AthleteRecord athlete = new AthleteRecord();
+
+        DataAccessException exception = assertThatExceptionOfType(DataAccessException.class)
+                .isThrownBy(() -> athleteDAO.save(athlete)).actual();
+
+        assertThat(operations).singleElement().satisfies(operation -> {
+            assertThat(operation.operation()).isEqualTo(DAOOperation.SAVE);
+            assertThat(operation.exception()).isSameAs(exception);
+        });
+    }
+
+    private static AthleteRecord newAthlete(String name) {
+        AthleteRecord athlete = new AthleteRecord();
+        athlete.setName(name);
+        return athlete;
+    }
+
+    private record Operation(Table<?> table, DAOOperation operation, long durationNanos, int rows,
+                             RuntimeException exception) {
+    }
+}
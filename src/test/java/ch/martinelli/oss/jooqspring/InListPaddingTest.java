@@ -0,0 +1,101 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InListPaddingTest {
+
+    private final List<String> statements = new ArrayList<>();
+    private TestDatabase database;
+    private AthleteDAO athleteDAO;
+    private ParticipationDAO participationDAO;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        for (String name : List.of("A", "B", "C", "D", "E")) {
+            database.insert(name);
+        }
+        DSLContext dslContext = database.dslContext(new ExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                statements.add(ctx.sql());
+            }
+        });
+        athleteDAO = new AthleteDAO(dslContext);
+        athleteDAO.setInListPadding(true);
+        participationDAO = new ParticipationDAO(dslContext);
+        participationDAO.setInListPadding(true);
+    }
+
+    @Test
+    void paddedQueriesAreReused() {
+        assertThat(athleteDAO.findAllById(List.of(1L, 2L, 3L))).extracting(AthleteRecord::getName)
+                .containsExactly("A", "B", "C");
+        assertThat(athleteDAO.findAllById(List.of(5L, 4L, 3L, 2L))).extracting(AthleteRecord::getName)
+                .containsExactly("E", "D", "C", "B");
+        assertThat(athleteDAO.existingIds(List.of(1L, 6L, 5L))).containsExactly(1L, 5L);
+
+        assertThat(statements).hasSize(3);
+        assertThat(statements.get(1)).isEqualTo(statements.get(0));
+        assertThat(bindParameters(statements.get(0))).isEqualTo(4);
+        assertThat(bindParameters(statements.get(2))).isEqualTo(4);
+    }
+
+    @Test
+    void duplicateIdsArePaddedOnce() {
+        assertThat(athleteDAO.findAllById(List.of(2L, 1L, 2L, 1L, 3L))).extracting(AthleteRecord::getName)
+                .containsExactly("B", "A", "C");
+        assertThat(athleteDAO.existingIds(List.of(2L, 2L, 6L))).containsExactly(2L);
+
+        assertThat(bindParameters(statements.get(0))).isEqualTo(4);
+        assertThat(bindParameters(statements.get(1))).isEqualTo(2);
+    }
+
+    @Test
+    void compositeKeysArePaddedAsRows() {
+        database.insertParticipation(1, 1, 10);
+        database.insertParticipation(1, 2, 20);
+        database.insertParticipation(2, 1, 30);
+
+        assertThat(participationDAO.findAllById(List.of(new ParticipationId(2, 1), new ParticipationId(1, 1),
+                new ParticipationId(3, 1)))).extracting(ParticipationRecord::getPoints).containsExactly(30, 10);
+        assertThat(participationDAO.existingIds(List.of(new ParticipationId(1, 2), new ParticipationId(1, 3),
+                new ParticipationId(2, 1), new ParticipationId(1, 2))))
+                .containsExactly(new ParticipationId(1, 2), new ParticipationId(2, 1));
+
+        assertThat(bindParameters(statements.get(0))).isEqualTo(8);
+        assertThat(bindParameters(statements.get(1))).isEqualTo(8);
+    }
+
+    @Test
+    void paddingRespectsChunksThatAreNoPowerOfTwo() {
+        participationDAO.setMaxBindParameters(1000);
+        database.insertParticipation(1, 1, 10);
+        database.insertParticipation(1, 600, 20);
+        List<ParticipationId> ids = new ArrayList<>();
+        for (int competitionId = 1; competitionId <= 600; competitionId++) {
+            ids.add(new ParticipationId(1, competitionId));
+        }
+
+        assertThat(participationDAO.findAllById(ids)).extracting(ParticipationRecord::getPoints)
+                .containsExactly(10, 20);
+
+        // 500 IDs fit into 1000 bind parameters, the remaining 100 IDs are padded to 128
+        assertThat(statements).hasSize(2);
+        assertThat(bindParameters(statements.get(0))).isEqualTo(1000);
+        assertThat(bindParameters(statements.get(1))).isEqualTo(256);
+    }
+
+    private static long bindParameters(String sql) {
+        return sql.chars().filter(c -> c == '?').count();
+    }
+}
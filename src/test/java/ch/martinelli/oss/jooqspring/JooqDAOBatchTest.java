@@ -0,0 +1,202 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static ch.martinelli.oss.jooqspring.ParticipationTable.PARTICIPATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JooqDAOBatchTest {
+
+    private final List<String> statements = new ArrayList<>();
+    private TestDatabase database;
+    private AthleteDAO athleteDAO;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        athleteDAO = new AthleteDAO(database.dslContext(new ExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                statements.add(ctx.sql());
+            }
+        }));
+    }
+
+    @Test
+    void saveAllSplitsIntoBatches() {
+        athleteDAO.setBatchSize(2);
+
+        int[] rowCounts = athleteDAO.saveAll(athletes("A", "B", "C", "D", "E"));
+
+        assertThat(rowCounts).containsExactly(1, 1, 1, 1, 1);
+        assertThat(statements).hasSize(3);
+        assertThat(names()).containsExactly("A", "B", "C", "D", "E");
+    }
+
+    @Test
+    void saveAllGroupsInsertsAndUpdates() {
+        AthleteRecord first = athleteDAO.findById(database.insert("A")).orElseThrow();
+        AthleteRecord second = athleteDAO.findById(database.insert("B")).orElseThrow();
+        first.setName("Changed A");
+        second.setName("Changed B");
+        List<AthleteRecord> newAthletes = athletes("C", "D");
+        statements.clear();
+
+        BatchResult result = athleteDAO.saveAll(List.of(newAthletes.get(0), first, newAthletes.get(1), second), 10);
+
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.updated()).isEqualTo(2);
+        assertThat(result.batches()).isEqualTo(2);
+        assertThat(result.rowCounts()).containsExactly(1, 1, 1, 1);
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0)).startsWith("insert");
+        assertThat(statements.get(1)).startsWith("update");
+        assertThat(names()).containsExactly("Changed A", "Changed B", "C", "D");
+    }
+
+    @Test
+    void saveAllGroupsByChangedFields() {
+        ParticipationDAO participationDAO = new ParticipationDAO(database.dslContext(new ExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                statements.add(ctx.sql());
+            }
+        }));
+        database.insert("A");
+        List<ParticipationRecord> participations = List.of(participation(1, 10), participation(2, null),
+                participation(3, 30), participation(4, null));
+
+        BatchResult result = participationDAO.saveAll(participations, 10);
+
+        assertThat(result.inserted()).isEqualTo(4);
+        assertThat(result.batches()).isEqualTo(2);
+        assertThat(result.rowCounts()).containsExactly(1, 1, 1, 1);
+        assertThat(statements).hasSize(2).doesNotHaveDuplicates();
+        assertThat(database.dslContext().select(PARTICIPATION.POINTS).from(PARTICIPATION)
+                .orderBy(PARTICIPATION.COMPETITION_ID).fetch(PARTICIPATION.POINTS))
+                .containsExactly(10, null, 30, null);
+    }
+
+    @Test
+    void saveAllSkipsUnchangedRecords() {
+        AthleteRecord unchanged = athleteDAO.findById(database.insert("A")).orElseThrow();
+        AthleteRecord changed = athleteDAO.findById(database.insert("B")).orElseThrow();
+        changed.setName("Changed B");
+        statements.clear();
+
+        BatchResult result = athleteDAO.saveAll(List.of(unchanged, changed), 10);
+
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.batches()).isEqualTo(1);
+        assertThat(result.rowCounts()).containsExactly(0, 1);
+        assertThat(statements).hasSize(1);
+        assertThat(names()).containsExactly("A", "Changed B");
+    }
+
+    @Test
+    void saveAllReturnsRowCountsInInputOrder() {
+        AthleteRecord existing = athleteDAO.findById(database.insert("A")).orElseThrow();
+        existing.setName("Changed A");
+        AthleteRecord unchanged = athleteDAO.findById(database.insert("B")).orElseThrow();
+        AthleteRecord deleted = athleteDAO.findById(database.insert("C")).orElseThrow();
+        deleted.setName("Changed C");
+        athleteDAO.deleteById(deleted.getId());
+
+        int[] rowCounts = athleteDAO.saveAll(List.of(athletes("D").get(0), existing, unchanged, deleted));
+
+        assertThat(rowCounts).containsExactly(1, 1, 0, 0);
+        assertThat(names()).containsExactly("Changed A", "B", "D");
+    }
+
+    @Test
+    void insertAllUsesMultiRowStatements() {
+        athleteDAO.setBatchSize(2);
+
+        BatchResult result = athleteDAO.insertAll(athletes("A", "B", "C", "D", "E"));
+
+        assertThat(result.inserted()).isEqualTo(5);
+        assertThat(result.batches()).isEqualTo(3);
+        assertThat(result.rowCounts()).containsExactly(1, 1, 1, 1, 1);
+        assertThat(statements).hasSize(3);
+        assertThat(names()).containsExactly("A", "B", "C", "D", "E");
+    }
+
+    @Test
+    void insertAllReturnsGeneratedKeys() {
+        List<AthleteRecord> athletes = athletes("A", "B", "C");
+
+        athleteDAO.insertAll(athletes, true);
+
+        assertThat(athletes).extracting(AthleteRecord::getId).doesNotContainNull().doesNotHaveDuplicates();
+        for (AthleteRecord athlete : athletes) {
+            assertThat(athleteDAO.findById(athlete.getId())).map(AthleteRecord::getName).contains(athlete.getName());
+            assertThat(athlete.changed()).isFalse();
+        }
+    }
+
+    @Test
+    void insertAllSavesExistingRecords() {
+        long id = database.insert("A");
+        AthleteRecord existing = athleteDAO.findById(id).orElseThrow();
+        existing.setName("Changed");
+
+        BatchResult result = athleteDAO.insertAll(List.of(athletes("B").get(0), existing, athletes("C").get(0)));
+
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.rowCounts()).containsExactly(1, 1, 1);
+        assertThat(names()).containsExactly("Changed", "B", "C");
+    }
+
+    @Test
+    void insertAllInsertsRecordsWithoutChangesOneByOne() {
+        database.dslContext().execute("alter table athlete alter column name set default 'Default'");
+
+        BatchResult result = athleteDAO.insertAll(List.of(new AthleteRecord(), new AthleteRecord()));
+
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.rowCounts()).containsExactly(1, 1);
+        assertThat(database.dslContext().fetchCount(ATHLETE)).isEqualTo(2);
+    }
+
+    @Test
+    void insertAllWithGeneratedKeysRequiresPrimaryKey() {
+        JooqDAO<AthleteTable, AthleteRecord, Long> withoutPrimaryKey =
+                new JooqDAO<>(database.dslContext(), AthleteTable.ATHLETE_WITHOUT_PRIMARY_KEY, false) {
+                };
+
+        assertThatIllegalArgumentException().isThrownBy(() -> withoutPrimaryKey.insertAll(athletes("A"), true));
+    }
+
+    private static List<AthleteRecord> athletes(String... names) {
+        List<AthleteRecord> athletes = new ArrayList<>();
+        for (String name : names) {
+            AthleteRecord athlete = new AthleteRecord();
+            athlete.setName(name);
+            athletes.add(athlete);
+        }
+        return athletes;
+    }
+
+    private static ParticipationRecord participation(int competitionId, Integer points) {
+        ParticipationRecord participation = new ParticipationRecord();
+        participation.set(PARTICIPATION.ATHLETE_ID, 1L);
+        participation.set(PARTICIPATION.COMPETITION_ID, competitionId);
+        if (points != null) {
+            participation.setPoints(points);
+        }
+        return participation;
+    }
+
+    private List<String> names() {
+        return database.dslContext().select(ATHLETE.NAME).from(ATHLETE).orderBy(ATHLETE.ID).fetch(ATHLETE.NAME);
+    }
+}
@@ -0,0 +1,76 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JooqDAOCacheTest {
+
+    private TestDatabase database;
+    private AthleteDAO athleteDAO;
+    private LruDAOCache<Object, AthleteRecord> cache;
+    private long id;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        athleteDAO = new AthleteDAO(database.dslContext());
+        cache = new LruDAOCache<>(100);
+        athleteDAO.setCache(cache);
+        id = database.insert("Simon");
+    }
+
+    @Test
+    void findByIdFillsCache() {
+        assertThat(athleteDAO.findById(id)).map(AthleteRecord::getName).contains("Simon");
+
+        assertThat(cache.get(id)).isNotNull();
+    }
+
+    @Test
+    void rollbackLeavesCacheUntouched() {
+        athleteDAO.findById(id);
+        AthleteRecord cached = cache.get(id);
+
+        database.transactionTemplate().executeWithoutResult(status -> {
+            AthleteRecord athlete = athleteDAO.findById(id).orElseThrow();
+            athlete.setName("Peter");
+            athleteDAO.save(athlete);
+
+            // The pending invalidation bypasses the cache inside the transaction
+            assertThat(athleteDAO.findById(id)).map(AthleteRecord::getName).contains("Peter");
+            status.setRollbackOnly();
+        });
+
+        assertThat(cache.get(id)).isSameAs(cached);
+        assertThat(athleteDAO.findById(id)).map(AthleteRecord::getName).contains("Simon");
+    }
+
+    @Test
+    void commitInvalidatesCache() {
+        athleteDAO.findById(id);
+
+        database.transactionTemplate().executeWithoutResult(status -> {
+            AthleteRecord athlete = athleteDAO.findById(id).orElseThrow();
+            athlete.setName("Peter");
+            athleteDAO.save(athlete);
+
+            // Invalidated only after the commit
+            assertThat(cache.get(id)).isNotNull();
+        });
+
+        assertThat(cache.get(id)).isNull();
+        assertThat(athleteDAO.findById(id)).map(AthleteRecord::getName).contains("Peter");
+    }
+
+    @Test
+    void writeOutsideTransactionInvalidatesImmediately() {
+        athleteDAO.findById(id);
+
+        athleteDAO.deleteById(id);
+
+        assertThat(cache.get(id)).isNull();
+        assertThat(athleteDAO.findById(id)).isEmpty();
+    }
+}
@@ -0,0 +1,104 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JooqDAOCoalescingTest {
+
+    private static final int THREADS = 8;
+
+    private final AtomicInteger queries = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Thread> threads = new ArrayList<>();
+    private AthleteDAO athleteDAO;
+    private long id;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase database = new TestDatabase();
+        id = database.insert("Simon");
+        athleteDAO = new AthleteDAO(database.dslContext(new ExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                queries.incrementAndGet();
+                try {
+                    // Holds the query until all threads are waiting for it
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }));
+        athleteDAO.setCoalescing(true);
+    }
+
+    @Test
+    void concurrentMissesIssueOneQuery() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable);
+            threads.add(thread);
+            return thread;
+        });
+        try {
+            List<Future<Optional<AthleteRecord>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> athleteDAO.findById(id)));
+            }
+            awaitAllWaiting();
+            release.countDown();
+
+            List<AthleteRecord> athletes = new ArrayList<>();
+            for (Future<Optional<AthleteRecord>> future : futures) {
+                athletes.add(future.get(10, TimeUnit.SECONDS).orElseThrow());
+            }
+
+            assertThat(queries).hasValue(1);
+            assertThat(athletes).extracting(AthleteRecord::getName).containsOnly("Simon");
+            // Every caller gets its own record
+            Set<AthleteRecord> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+            instances.addAll(athletes);
+            assertThat(instances).hasSize(THREADS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void sequentialCallsAreNotCoalesced() {
+        release.countDown();
+
+        athleteDAO.findById(id);
+        athleteDAO.findById(id);
+
+        assertThat(queries).hasValue(2);
+    }
+
+    private void awaitAllWaiting() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (threads.size() == THREADS && threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING
+                                                                                 || thread.getState() == Thread.State.TIMED_WAITING)) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("The threads did not wait for the query");
+    }
+}
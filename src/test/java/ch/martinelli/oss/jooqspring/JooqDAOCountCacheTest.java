@@ -0,0 +1,139 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JooqDAOCountCacheTest {
+
+    private final List<String> statements = new ArrayList<>();
+    private TestDatabase database;
+    private AthleteDAO athleteDAO;
+    private LruDAOCache<Object, Long> countCache;
+    private long id;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        athleteDAO = new AthleteDAO(database.dslContext(new ExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                statements.add(ctx.sql());
+            }
+        }));
+        countCache = new LruDAOCache<>(100);
+        athleteDAO.setCountCache(countCache);
+        id = database.insert("Simon");
+        database.insert("Peter");
+    }
+
+    @Test
+    void countIsCached() {
+        assertThat(athleteDAO.count()).isEqualTo(2);
+        assertThat(athleteDAO.countLong()).isEqualTo(2);
+        assertThat(athleteDAO.count(ATHLETE.NAME.eq("Simon"))).isEqualTo(1);
+        assertThat(athleteDAO.countLong(ATHLETE.NAME.eq("Simon"))).isEqualTo(1);
+
+        assertThat(statements).hasSize(2);
+        assertThat(countCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void differentBindValuesDoNotCollide() {
+        assertThat(athleteDAO.count(ATHLETE.NAME.eq("Simon"))).isEqualTo(1);
+        assertThat(athleteDAO.count(ATHLETE.NAME.eq("Paul"))).isZero();
+        assertThat(athleteDAO.count(ATHLETE.NAME.eq("Simon"))).isEqualTo(1);
+        assertThat(athleteDAO.count(ATHLETE.NAME.eq("Paul"))).isZero();
+
+        assertThat(statements).hasSize(2);
+        assertThat(countCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void everyWriteMethodInvalidatesCounts() {
+        assertInvalidatedBy(dao -> {
+            AthleteRecord athlete = dao.findById(id).orElseThrow();
+            athlete.setName("Paul");
+            dao.save(athlete);
+        });
+        assertInvalidatedBy(dao -> dao.saveAll(List.of(athlete("A"))));
+        assertInvalidatedBy(dao -> dao.saveAll(List.of(athlete("B")), 10));
+        assertInvalidatedBy(dao -> dao.insertAll(List.of(athlete("C"))));
+        assertInvalidatedBy(dao -> dao.insertAll(List.of(athlete("D")), true));
+        assertInvalidatedBy(dao -> dao.merge(athlete("E")));
+        assertInvalidatedBy(dao -> dao.mergeAll(List.of(athlete("F"))));
+        assertInvalidatedBy(dao -> dao.delete(dao.findById(id).orElseThrow()));
+        assertInvalidatedBy(dao -> dao.deleteById(database.insert("G")));
+        assertInvalidatedBy(dao -> dao.delete(ATHLETE.NAME.eq("A")));
+    }
+
+    @Test
+    void commitInvalidatesCounts() {
+        athleteDAO.count();
+
+        database.transactionTemplate().executeWithoutResult(status -> {
+            athleteDAO.deleteById(id);
+
+            // Invalidated only after the commit
+            assertThat(countCache.size()).isEqualTo(1);
+        });
+
+        assertThat(countCache.size()).isZero();
+        assertThat(athleteDAO.count()).isEqualTo(1);
+    }
+
+    @Test
+    void rollbackLeavesCountsUntouched() {
+        athleteDAO.count();
+
+        database.transactionTemplate().executeWithoutResult(status -> {
+            athleteDAO.deleteById(id);
+            status.setRollbackOnly();
+        });
+
+        assertThat(countCache.size()).isEqualTo(1);
+        assertThat(athleteDAO.count()).isEqualTo(2);
+    }
+
+    @Test
+    void pendingInvalidationBypassesCache() {
+        athleteDAO.count();
+
+        database.transactionTemplate().executeWithoutResult(status -> {
+            athleteDAO.deleteById(id);
+            statements.clear();
+
+            // The transaction sees its own changes, and the uncommitted count is not cached
+            assertThat(athleteDAO.count()).isEqualTo(1);
+            assertThat(athleteDAO.count()).isEqualTo(1);
+            assertThat(statements).hasSize(2);
+            status.setRollbackOnly();
+        });
+
+        assertThat(athleteDAO.count()).isEqualTo(2);
+    }
+
+    private void assertInvalidatedBy(Consumer<AthleteDAO> write) {
+        athleteDAO.count();
+        assertThat(countCache.size()).isEqualTo(1);
+
+        write.accept(athleteDAO);
+
+        assertThat(countCache.size()).isZero();
+        assertThat(athleteDAO.count()).isEqualTo(database.dslContext().fetchCount(ATHLETE));
+    }
+
+    private static AthleteRecord athlete(String name) {
+        AthleteRecord athlete = new AthleteRecord();
+        athlete.setName(name);
+        return athlete;
+    }
+}
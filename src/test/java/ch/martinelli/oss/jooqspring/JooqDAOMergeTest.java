@@ -0,0 +1,121 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JooqDAOMergeTest {
+
+    private final List<String> statements = new ArrayList<>();
+    private TestDatabase database;
+    private AthleteDAO athleteDAO;
+    private long id;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        database.dslContext().execute("alter table athlete add constraint uk_athlete_name unique (name)");
+        id = database.insert("A");
+        athleteDAO = new AthleteDAO(database.dslContext(new ExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                statements.add(ctx.sql());
+            }
+        }));
+    }
+
+    @Test
+    void mergeAllInsertsAndUpdates() {
+        AthleteRecord existing = athleteDAO.findById(id).orElseThrow();
+        existing.setName("Changed");
+        statements.clear();
+
+        athleteDAO.mergeAll(List.of(existing, athlete(10L, "B"), athlete(11L, "C")));
+
+        // The unchanged ID of the fetched record is merged as well, so all records share one statement
+        assertThat(statements).hasSize(1);
+        assertThat(athletes()).containsExactly(Map.entry(id, "Changed"), Map.entry(10L, "B"), Map.entry(11L, "C"));
+        assertThat(existing.changed()).isFalse();
+    }
+
+    @Test
+    void mergeAllSkipsRecordsWithoutChanges() {
+        AthleteRecord existing = athleteDAO.findById(id).orElseThrow();
+        statements.clear();
+
+        assertThat(athleteDAO.mergeAll(List.of(existing))).isZero();
+        assertThat(statements).isEmpty();
+    }
+
+    @Test
+    void mergeAllSplitsByMaxBindParameters() {
+        athleteDAO.setMaxBindParameters(4);
+
+        athleteDAO.mergeAll(List.of(athlete(10L, "B"), athlete(11L, "C"), athlete(12L, "D"), athlete(13L, "E"),
+                athlete(14L, "F")));
+
+        assertThat(statements).hasSize(3);
+        assertThat(athletes()).hasSize(6);
+    }
+
+    @Test
+    void mergeAllSplitsByBatchSize() {
+        athleteDAO.setBatchSize(2);
+
+        athleteDAO.mergeAll(List.of(athlete(10L, "B"), athlete(11L, "C"), athlete(12L, "D")));
+
+        assertThat(statements).hasSize(2);
+        assertThat(athletes()).hasSize(4);
+    }
+
+    @Test
+    void mergeAllWithOnlyKeyChangesDoesNothingOnConflict() {
+        AthleteRecord existingName = new AthleteRecord();
+        existingName.setName("A");
+        AthleteRecord newName = new AthleteRecord();
+        newName.setName("B");
+
+        athleteDAO.mergeAll(List.of(existingName, newName), ATHLETE.UK_NAME);
+
+        assertThat(athletes()).hasSize(2).containsEntry(id, "A").containsValue("B");
+    }
+
+    @Test
+    void mergeAllOnUniqueKeyDoesNotOverwritePrimaryKey() {
+        athleteDAO.mergeAll(List.of(athlete(99L, "A")), ATHLETE.UK_NAME);
+
+        assertThat(athletes()).containsExactly(Map.entry(id, "A"));
+    }
+
+    @Test
+    void mergeAllOnUniqueKeyInvalidatesCache() {
+        athleteDAO.setCache(new LruDAOCache<>(100));
+        athleteDAO.findById(id);
+        database.dslContext().update(ATHLETE).set(ATHLETE.NAME, "A").where(ATHLETE.ID.eq(id)).execute();
+
+        athleteDAO.mergeAll(List.of(athlete(99L, "A")), ATHLETE.UK_NAME);
+        athleteDAO.findById(id);
+
+        assertThat(statements).filteredOn(sql -> sql.startsWith("select")).hasSize(2);
+    }
+
+    private static AthleteRecord athlete(Long id, String name) {
+        AthleteRecord athlete = new AthleteRecord();
+        athlete.set(ATHLETE.ID, id);
+        athlete.setName(name);
+        return athlete;
+    }
+
+    private Map<Long, String> athletes() {
+        return database.dslContext().select(ATHLETE.ID, ATHLETE.NAME).from(ATHLETE).orderBy(ATHLETE.ID)
+                .fetchMap(ATHLETE.ID, ATHLETE.NAME);
+    }
+}
@@ -0,0 +1,89 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JooqDAOPaginationTest {
+
+    private static final Condition ALL = DSL.noCondition();
+    private static final List<OrderField<?>> BY_ID = List.of(ATHLETE.ID);
+
+    private AthleteDAO athleteDAO;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase database = new TestDatabase();
+        for (String name : List.of("A", "B", "C", "D", "E")) {
+            database.insert(name);
+        }
+        athleteDAO = new AthleteDAO(database.dslContext());
+    }
+
+    @Test
+    void sliceHasNext() {
+        Slice<AthleteRecord> slice = athleteDAO.findSlice(ALL, 0, 2, BY_ID);
+
+        assertThat(slice.records()).extracting(AthleteRecord::getName).containsExactly("A", "B");
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    void lastSliceHasNoNext() {
+        Slice<AthleteRecord> slice = athleteDAO.findSlice(ALL, 3, 2, BY_ID);
+
+        assertThat(slice.records()).extracting(AthleteRecord::getName).containsExactly("D", "E");
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    void sliceWithMaximumLimit() {
+        Slice<AthleteRecord> slice = athleteDAO.findSlice(ALL, 0, Integer.MAX_VALUE, BY_ID);
+
+        assertThat(slice.records()).hasSize(5);
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    void pageContainsTotal() {
+        Page<AthleteRecord> page = athleteDAO.findPage(ATHLETE.NAME.ne("E"), 2, 1, BY_ID);
+
+        assertThat(page.records()).extracting(AthleteRecord::getName).containsExactly("C");
+        assertThat(page.total()).isEqualTo(4);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void pageBeyondLastRecordCountsSeparately() {
+        Page<AthleteRecord> page = athleteDAO.findPage(ALL, 10, 2, BY_ID);
+
+        assertThat(page.records()).isEmpty();
+        assertThat(page.total()).isEqualTo(5);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void emptyFirstPage() {
+        Page<AthleteRecord> page = athleteDAO.findPage(ATHLETE.NAME.eq("X"), 0, 2, BY_ID);
+
+        assertThat(page.records()).isEmpty();
+        assertThat(page.total()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidOffsetAndLimit() {
+        assertThatIllegalArgumentException().isThrownBy(() -> athleteDAO.findSlice(ALL, 0, 0, BY_ID));
+        assertThatIllegalArgumentException().isThrownBy(() -> athleteDAO.findSlice(ALL, 0, -1, BY_ID));
+        assertThatIllegalArgumentException().isThrownBy(() -> athleteDAO.findSlice(ALL, -1, 1, BY_ID));
+        assertThatIllegalArgumentException().isThrownBy(() -> athleteDAO.findPage(ALL, 0, 0, BY_ID));
+        assertThatIllegalArgumentException().isThrownBy(() -> athleteDAO.findPage(ALL, -1, 1, BY_ID));
+    }
+}
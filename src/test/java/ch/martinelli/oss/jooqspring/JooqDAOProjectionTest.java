@@ -0,0 +1,83 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JooqDAOProjectionTest {
+
+    record Name(String name) {
+    }
+
+    record IdName(Long id, String name) {
+    }
+
+    record IdNameMissing(Long id, String name, String missing) {
+    }
+
+    record Unrelated(String missing) {
+    }
+
+    static class NameDTO {
+        String name;
+        String missing;
+    }
+
+    private AthleteDAO athleteDAO;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase database = new TestDatabase();
+        database.insert("Simon");
+        database.insert("Peter");
+        athleteDAO = new AthleteDAO(database.dslContext());
+    }
+
+    @Test
+    void findAllFetchesOnlyGivenFields() {
+        Result<Record> result = athleteDAO.findAll(DSL.noCondition(), List.of(ATHLETE.ID), ATHLETE.NAME);
+
+        assertThat(result.fields()).containsExactly(ATHLETE.NAME);
+        assertThat(result.getValues(ATHLETE.NAME)).containsExactly("Simon", "Peter");
+    }
+
+    @Test
+    void findAllIntoRecord() {
+        assertThat(athleteDAO.findAllInto(IdName.class, ATHLETE.NAME.eq("Peter")))
+                .containsExactly(new IdName(2L, "Peter"));
+    }
+
+    @Test
+    void findAllIntoRecordWithSubsetOfColumns() {
+        assertThat(athleteDAO.findAllInto(Name.class, DSL.noCondition(), List.of(ATHLETE.NAME.desc())))
+                .containsExactly(new Name("Simon"), new Name("Peter"));
+    }
+
+    @Test
+    void findAllIntoDTOIgnoresUnmatchedMembers() {
+        List<NameDTO> names = athleteDAO.findAllInto(NameDTO.class, DSL.noCondition(), List.of(ATHLETE.ID));
+
+        assertThat(names).extracting(dto -> dto.name).containsExactly("Simon", "Peter");
+        assertThat(names).extracting(dto -> dto.missing).containsOnlyNulls();
+    }
+
+    @Test
+    void rejectsRecordWithUnmatchedComponent() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> athleteDAO.findAllInto(IdNameMissing.class, DSL.noCondition()))
+                .withMessageContaining("[missing]");
+    }
+
+    @Test
+    void rejectsClassWithoutMatchingMember() {
+        assertThatIllegalArgumentException().isThrownBy(() -> athleteDAO.findAllInto(Unrelated.class, DSL.noCondition()));
+    }
+}
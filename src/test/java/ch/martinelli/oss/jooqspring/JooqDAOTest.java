@@ -0,0 +1,72 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JooqDAOTest {
+
+    private TestDatabase database;
+    private JooqDAO<AthleteTable, AthleteRecord, Integer> integerIdDAO;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        database.insert("Simon");
+        database.insert("Peter");
+        integerIdDAO = new JooqDAO<>(database.dslContext(), ATHLETE) {
+        };
+    }
+
+    @Test
+    void findAllByIdConvertsIdsToKeyType() {
+        assertThat(integerIdDAO.findAllById(List.of(2, 1)))
+                .extracting(AthleteRecord::getName)
+                .containsExactly("Peter", "Simon");
+    }
+
+    @Test
+    void existingIdsConvertsIdsToKeyType() {
+        assertThat(integerIdDAO.existingIds(List.of(1, 2, 3))).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    void saveInvalidatesCachedRecordWithConvertedId() {
+        integerIdDAO.setCache(new LruDAOCache<>(100));
+        AthleteRecord athlete = integerIdDAO.findById(1).orElseThrow();
+
+        athlete.setName("Simone");
+        integerIdDAO.save(athlete);
+
+        assertThat(integerIdDAO.findById(1)).map(AthleteRecord::getName).contains("Simone");
+    }
+
+    @Test
+    void findAllAfterPagesThroughRecords() {
+        KeysetPage<AthleteRecord> first = integerIdDAO.findAllAfter(null, 1, List.of(ATHLETE.ID));
+        KeysetPage<AthleteRecord> second = integerIdDAO.findAllAfter(first.next(), 1, List.of(ATHLETE.ID));
+
+        assertThat(first.records()).extracting(AthleteRecord::getName).containsExactly("Simon");
+        assertThat(second.records()).extracting(AthleteRecord::getName).containsExactly("Peter");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void findAllAfterRejectsNonPositiveLimit() {
+        assertThatIllegalArgumentException().isThrownBy(() -> integerIdDAO.findAllAfter(null, 0, List.of(ATHLETE.ID)));
+        assertThatIllegalArgumentException().isThrownBy(() -> integerIdDAO.findAllAfter(null, -1, List.of(ATHLETE.ID)));
+    }
+
+    @Test
+    void findAllAfterWithMaximumLimit() {
+        KeysetPage<AthleteRecord> page = integerIdDAO.findAllAfter(null, Integer.MAX_VALUE, List.of(ATHLETE.ID));
+
+        assertThat(page.records()).hasSize(2);
+        assertThat(page.hasNext()).isFalse();
+    }
+}
@@ -0,0 +1,46 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class KeyExtractorTest {
+
+    private static final Field<?>[] KEY = {
+            DSL.field(DSL.name("ATHLETE_ID"), Long.class),
+            DSL.field(DSL.name("COMPETITION_ID"), Integer.class)
+    };
+
+    record ParticipationId(int competitionId, long athleteId) {
+    }
+
+    record PositionalId(long first, int second) {
+    }
+
+    record PartialId(long competitionId, int athlete) {
+    }
+
+    @Test
+    void mapsMembersByName() {
+        KeyExtractor extractor = KeyExtractor.of(ParticipationId.class, KEY);
+
+        assertThat(extractor.extract(new ParticipationId(3, 1))).containsExactly(1L, 3);
+    }
+
+    @Test
+    void mapsMembersByDeclarationOrderIfNoNameMatches() {
+        KeyExtractor extractor = KeyExtractor.of(PositionalId.class, KEY);
+
+        assertThat(extractor.extract(new PositionalId(1, 3))).containsExactly(1L, 3);
+    }
+
+    @Test
+    void rejectsPartialMatch() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> KeyExtractor.of(PartialId.class, KEY))
+                .withMessageContaining("ATHLETE_ID");
+    }
+}
@@ -0,0 +1,73 @@
+package ch.martinelli.oss.jooqspring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class MicrometerDAOListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AthleteDAO athleteDAO;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase database = new TestDatabase();
+        database.insert("Simon");
+        database.insert("Peter");
+        athleteDAO = new AthleteDAO(database.dslContext());
+        athleteDAO.setListener(new MicrometerDAOListener(registry));
+    }
+
+    @Test
+    void recordsFetchedRowsOfReads() {
+        athleteDAO.findAll(ATHLETE.NAME.isNotNull());
+        athleteDAO.findAll(ATHLETE.NAME.eq("Simon"));
+
+        Timer timer = registry.get(MicrometerDAOListener.DEFAULT_NAME)
+                .tags("table", "ATHLETE", "method", "find_all", "type", "read", "outcome", "success").timer();
+        DistributionSummary rows = registry.get(MicrometerDAOListener.DEFAULT_NAME + ".rows")
+                .tags("table", "ATHLETE", "method", "find_all", "type", "read").summary();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(rows.count()).isEqualTo(2);
+        assertThat(rows.totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void recordsOneRowForCounts() {
+        athleteDAO.count();
+        athleteDAO.existsById(1L);
+
+        assertThat(registry.get(MicrometerDAOListener.DEFAULT_NAME + ".rows").tag("method", "count").summary()
+                .totalAmount()).isEqualTo(1);
+        assertThat(registry.get(MicrometerDAOListener.DEFAULT_NAME + ".rows").tag("method", "exists_by_id").summary()
+                .totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsAffectedRowsOfWrites() {
+        athleteDAO.delete(ATHLETE.NAME.isNotNull());
+
+        DistributionSummary rows = registry.get(MicrometerDAOListener.DEFAULT_NAME + ".rows")
+                .tags("method", "delete", "type", "write").summary();
+        assertThat(rows.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void recordsFailures() {
+        DataAccessException exception = assertThatExceptionOfType(DataAccessException.class)
+                .isThrownBy(() -> athleteDAO.save(new AthleteRecord())).actual();
+
+        Timer timer = registry.get(MicrometerDAOListener.DEFAULT_NAME)
+                .tags("method", "save", "outcome", "failure", "exception", exception.getClass().getSimpleName())
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(registry.find(MicrometerDAOListener.DEFAULT_NAME + ".rows").meters()).isEmpty();
+    }
+}
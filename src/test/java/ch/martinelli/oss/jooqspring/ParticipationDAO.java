@@ -0,0 +1,12 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.DSLContext;
+
+import static ch.martinelli.oss.jooqspring.ParticipationTable.PARTICIPATION;
+
+class ParticipationDAO extends JooqDAO<ParticipationTable, ParticipationRecord, ParticipationId> {
+
+    ParticipationDAO(DSLContext dslContext) {
+        super(dslContext, PARTICIPATION);
+    }
+}
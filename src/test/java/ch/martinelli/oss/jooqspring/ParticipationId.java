@@ -0,0 +1,4 @@
+package ch.martinelli.oss.jooqspring;
+
+record ParticipationId(long athleteId, int competitionId) {
+}
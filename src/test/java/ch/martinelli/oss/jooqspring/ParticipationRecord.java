@@ -0,0 +1,23 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.impl.UpdatableRecordImpl;
+
+import static ch.martinelli.oss.jooqspring.ParticipationTable.PARTICIPATION;
+
+/**
+ * A record of the table {@code PARTICIPATION}.
+ */
+final class ParticipationRecord extends UpdatableRecordImpl<ParticipationRecord> {
+
+    ParticipationRecord() {
+        super(PARTICIPATION);
+    }
+
+    Integer getPoints() {
+        return get(PARTICIPATION.POINTS);
+    }
+
+    void setPoints(Integer points) {
+        set(PARTICIPATION.POINTS, points);
+    }
+}
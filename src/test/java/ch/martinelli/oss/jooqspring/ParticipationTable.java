@@ -0,0 +1,39 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.Internal;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+/**
+ * The table {@code PARTICIPATION} of the test database with a composite primary key, written like a table generated
+ * by jOOQ.
+ */
+final class ParticipationTable extends TableImpl<ParticipationRecord> {
+
+    static final ParticipationTable PARTICIPATION = new ParticipationTable();
+
+    final TableField<ParticipationRecord, Long> ATHLETE_ID = createField(DSL.name("ATHLETE_ID"),
+            SQLDataType.BIGINT.nullable(false), this, "");
+    final TableField<ParticipationRecord, Integer> COMPETITION_ID = createField(DSL.name("COMPETITION_ID"),
+            SQLDataType.INTEGER.nullable(false), this, "");
+    final TableField<ParticipationRecord, Integer> POINTS = createField(DSL.name("POINTS"),
+            SQLDataType.INTEGER, this, "");
+
+    private ParticipationTable() {
+        super(DSL.name("PARTICIPATION"));
+    }
+
+    @Override
+    public Class<ParticipationRecord> getRecordType() {
+        return ParticipationRecord.class;
+    }
+
+    @Override
+    public UniqueKey<ParticipationRecord> getPrimaryKey() {
+        return Internal.createUniqueKey(this, DSL.name("PK_PARTICIPATION"),
+                new TableField[]{ATHLETE_ID, COMPETITION_ID}, true);
+    }
+}
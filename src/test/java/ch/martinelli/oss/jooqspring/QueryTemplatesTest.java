@@ -0,0 +1,100 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryTemplatesTest {
+
+    private final List<String> statements = new ArrayList<>();
+    private TestDatabase database;
+    private AthleteDAO athleteDAO;
+    private ParticipationDAO participationDAO;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        database.insert("Simon");
+        database.insert("Peter");
+        database.insertParticipation(1, 1, 10);
+        database.insertParticipation(2, 3, 30);
+        DSLContext dslContext = database.dslContext(new ExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                statements.add(ctx.sql());
+            }
+        });
+        athleteDAO = new AthleteDAO(dslContext);
+        athleteDAO.setQueryTemplates(true);
+        participationDAO = new ParticipationDAO(dslContext);
+        participationDAO.setQueryTemplates(true);
+    }
+
+    @Test
+    void findByIdReusesTemplate() {
+        assertThat(athleteDAO.findById(1L)).map(AthleteRecord::getName).contains("Simon");
+        assertThat(athleteDAO.findById(2L)).map(AthleteRecord::getName).contains("Peter");
+        assertThat(athleteDAO.findById(3L)).isEmpty();
+
+        assertThat(statements).hasSize(3).containsOnly(statements.get(0));
+        assertThat(statements.get(0)).contains("?").doesNotContain("Simon");
+    }
+
+    @Test
+    void findByIdWithCompositeKeyReusesTemplate() {
+        assertThat(participationDAO.findById(new ParticipationId(1, 1)))
+                .map(ParticipationRecord::getPoints).contains(10);
+        assertThat(participationDAO.findById(new ParticipationId(2, 3)))
+                .map(ParticipationRecord::getPoints).contains(30);
+        assertThat(participationDAO.findById(new ParticipationId(2, 1))).isEmpty();
+
+        assertThat(statements).hasSize(3).containsOnly(statements.get(0));
+    }
+
+    @Test
+    void existsByIdAndCountUseTemplates() {
+        assertThat(participationDAO.existsById(new ParticipationId(1, 1))).isTrue();
+        assertThat(participationDAO.existsById(new ParticipationId(1, 3))).isFalse();
+        assertThat(athleteDAO.count()).isEqualTo(2);
+        assertThat(athleteDAO.count()).isEqualTo(2);
+
+        assertThat(statements).hasSize(4);
+        assertThat(statements.get(1)).isEqualTo(statements.get(0));
+        assertThat(statements.get(3)).isEqualTo(statements.get(2));
+    }
+
+    @Test
+    void recordFetchedThroughTemplateIsUpdated() {
+        ParticipationRecord participation = participationDAO.findById(new ParticipationId(1, 1)).orElseThrow();
+        participation.setPoints(11);
+
+        assertThat(participationDAO.save(participation)).isEqualTo(1);
+
+        assertThat(statements.get(1)).startsWith("update");
+        assertThat(participationDAO.findById(new ParticipationId(1, 1)))
+                .map(ParticipationRecord::getPoints).contains(11);
+        assertThat(participationDAO.count()).isEqualTo(2);
+    }
+
+    @Test
+    void deleteByIdThroughTemplateInvalidatesCache() {
+        athleteDAO.setCache(new LruDAOCache<>(100));
+        athleteDAO.findById(1L);
+        athleteDAO.findById(2L);
+
+        assertThat(athleteDAO.deleteById(1L)).isEqualTo(1);
+        assertThat(athleteDAO.deleteById(2L)).isEqualTo(1);
+
+        assertThat(athleteDAO.findById(1L)).isEmpty();
+        assertThat(athleteDAO.findById(2L)).isEmpty();
+        assertThat(database.dslContext().fetchCount(ATHLETE)).isZero();
+    }
+}
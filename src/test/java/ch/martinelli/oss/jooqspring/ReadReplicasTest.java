@@ -0,0 +1,143 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ReadReplicasTest {
+
+    private TestDatabase primary;
+    private TestDatabase replica;
+    private AthleteDAO athleteDAO;
+    private long id;
+
+    @BeforeEach
+    void setUp() {
+        primary = new TestDatabase();
+        replica = new TestDatabase();
+        id = primary.insert("Primary");
+        replica.insert("Replica");
+
+        athleteDAO = new AthleteDAO(primary.dslContext());
+        athleteDAO.setReadReplicas(ReadReplicas.roundRobin(replica.dslContext()));
+    }
+
+    @Test
+    void readsWithoutTransactionUseReplica() {
+        assertThat(athleteDAO.findById(id)).map(AthleteRecord::getName).contains("Replica");
+        assertThat(athleteDAO.count()).isEqualTo(1);
+    }
+
+    @Test
+    void readsInReadOnlyTransactionUseReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(primary.transactionTemplate().getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        String name = readOnly.execute(status -> athleteDAO.findById(id).orElseThrow().getName());
+
+        assertThat(name).isEqualTo("Replica");
+    }
+
+    @Test
+    void readsInWriteTransactionUsePrimary() {
+        primary.transactionTemplate().executeWithoutResult(status -> {
+            assertThat(athleteDAO.findById(id)).map(AthleteRecord::getName).contains("Primary");
+
+            AthleteRecord athlete = new AthleteRecord();
+            athlete.setName("Peter");
+            athleteDAO.save(athlete);
+
+            // Reads see the uncommitted write
+            assertThat(athleteDAO.findById(athlete.getId())).map(AthleteRecord::getName).contains("Peter");
+            assertThat(athleteDAO.count()).isEqualTo(2);
+        });
+
+        assertThat(primary.dslContext().fetchCount(AthleteTable.ATHLETE)).isEqualTo(2);
+        assertThat(replica.dslContext().fetchCount(AthleteTable.ATHLETE)).isEqualTo(1);
+    }
+
+    @Test
+    void lazyMethodsUsePrimary() {
+        TransactionTemplate readOnly = new TransactionTemplate(primary.transactionTemplate().getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        List<String> streamed = readOnly.execute(status -> {
+            try (Stream<AthleteRecord> athletes = athleteDAO.stream(DSL.noCondition(), List.of())) {
+                return athletes.map(AthleteRecord::getName).toList();
+            }
+        });
+        List<String> consumed = new ArrayList<>();
+        athleteDAO.forEach(DSL.noCondition(), athlete -> consumed.add(athlete.getName()));
+
+        assertThat(streamed).containsExactly("Primary");
+        assertThat(consumed).containsExactly("Primary");
+    }
+
+    @Test
+    void cachesAreFilledFromPrimary() {
+        athleteDAO.setCache(new LruDAOCache<>(100));
+        athleteDAO.setCountCache(new LruDAOCache<>(100));
+        primary.insert("Peter");
+
+        assertThat(athleteDAO.findById(id)).map(AthleteRecord::getName).contains("Primary");
+        assertThat(athleteDAO.count()).isEqualTo(2);
+    }
+
+    @Test
+    void roundRobinUsesReplicasInTurn() {
+        AtomicInteger firstQueries = new AtomicInteger();
+        AtomicInteger secondQueries = new AtomicInteger();
+        TestDatabase secondReplica = new TestDatabase();
+        athleteDAO.setReadReplicas(ReadReplicas.roundRobin(replica.dslContext(counting(firstQueries)),
+                secondReplica.dslContext(counting(secondQueries))));
+
+        for (int i = 0; i < 10; i++) {
+            athleteDAO.existsById(id);
+        }
+
+        assertThat(firstQueries).hasValue(5);
+        assertThat(secondQueries).hasValue(5);
+    }
+
+    @Test
+    void leastLatencyKeepsUsingAllReplicas() {
+        AtomicInteger firstQueries = new AtomicInteger();
+        AtomicInteger secondQueries = new AtomicInteger();
+        TestDatabase secondReplica = new TestDatabase();
+        athleteDAO.setReadReplicas(ReadReplicas.leastLatency(replica.dslContext(counting(firstQueries)),
+                secondReplica.dslContext(counting(secondQueries))));
+
+        for (int i = 0; i < 200; i++) {
+            athleteDAO.existsById(id);
+        }
+
+        assertThat(firstQueries.get() + secondQueries.get()).isEqualTo(200);
+        assertThat(firstQueries).hasValueGreaterThan(2);
+        assertThat(secondQueries).hasValueGreaterThan(2);
+    }
+
+    @Test
+    void atLeastOneReplicaIsRequired() {
+        assertThatIllegalArgumentException().isThrownBy(ReadReplicas::roundRobin);
+    }
+
+    private static ExecuteListener counting(AtomicInteger queries) {
+        return new ExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                queries.incrementAndGet();
+            }
+        };
+    }
+}
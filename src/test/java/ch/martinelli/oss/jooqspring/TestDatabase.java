@@ -0,0 +1,95 @@
+package ch.martinelli.oss.jooqspring;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListener;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DataSourceConnectionProvider;
+import org.jooq.impl.DefaultConfiguration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static ch.martinelli.oss.jooqspring.AthleteTable.ATHLETE;
+import static ch.martinelli.oss.jooqspring.ParticipationTable.PARTICIPATION;
+
+/**
+ * An in-memory H2 database with the tables {@code ATHLETE} and {@code PARTICIPATION}, managed by a Spring transaction
+ * manager.
+ */
+final class TestDatabase {
+
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+
+    TestDatabase() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        this.dataSource = h2;
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(h2));
+        dslContext().execute("create table athlete (id bigint generated by default as identity primary key, "
+                             + "name varchar(100) not null)");
+        dslContext().execute("create table participation (athlete_id bigint not null, competition_id integer not null, "
+                             + "points integer, primary key (athlete_id, competition_id))");
+    }
+
+    /**
+     * Returns a DSLContext that takes part in the Spring transactions of this database.
+     *
+     * @param listeners the execute listeners to add
+     * @return the DSLContext
+     */
+    DSLContext dslContext(ExecuteListener... listeners) {
+        return DSL.using(new DefaultConfiguration()
+                .set(new DataSourceConnectionProvider(new TransactionAwareDataSourceProxy(dataSource)))
+                .set(SQLDialect.H2)
+                .set(listeners));
+    }
+
+    /**
+     * Returns the template to run code in a transaction of this database.
+     *
+     * @return the transaction template
+     */
+    TransactionTemplate transactionTemplate() {
+        return transactionTemplate;
+    }
+
+    /**
+     * Inserts an athlete.
+     *
+     * @param name the name of the athlete
+     * @return the generated ID
+     */
+    long insert(String name) {
+        return dslContext().insertInto(ATHLETE).set(ATHLETE.NAME, name).returning(ATHLETE.ID).fetchSingle().getId();
+    }
+
+    /**
+     * Inserts a participation.
+     *
+     * @param athleteId     the ID of the athlete
+     * @param competitionId the ID of the competition
+     * @param points        the points
+     */
+    void insertParticipation(long athleteId, int competitionId, int points) {
+        dslContext().insertInto(PARTICIPATION)
+                .set(PARTICIPATION.ATHLETE_ID, athleteId)
+                .set(PARTICIPATION.COMPETITION_ID, competitionId)
+                .set(PARTICIPATION.POINTS, points)
+                .execute();
+    }
+
+    /**
+     * Returns the number of open sessions of the database, including the session of this query.
+     *
+     * @return the number of sessions
+     */
+    int sessions() {
+        return dslContext().fetchSingle("select count(*) from information_schema.sessions").get(0, int.class);
+    }
+}